@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import com.sun.jdi.IntegerValue;
 import com.sun.jdi.InterfaceType;
 import com.sun.jdi.InvalidTypeException;
 import com.sun.jdi.InvocationException;
+import com.sun.jdi.Location;
 import com.sun.jdi.Method;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.StringReference;
@@ -217,6 +218,22 @@ public class ClassTypeTest extends AbstractJDITest {
 		}
 		assertEquals("2", 1, locations.size());
 	}
+	/**
+	 * Test that JDI locationsOfLine(int) of a type returns the locations of
+	 * the line in all its methods.
+	 */
+	public void testJDILocationsOfLineAllMethods() throws AbsentInformationException {
+		for (Location location : fType.allLineLocations()) {
+			int lineNumber = location.lineNumber();
+			List<Location> expected = new ArrayList<>();
+			for (Method method : fType.methods()) {
+				if (!method.isAbstract() && !method.isNative()) {
+					expected.addAll(method.locationsOfLine(lineNumber));
+				}
+			}
+			assertEquals(Integer.toString(lineNumber), expected, fType.locationsOfLine(lineNumber));
+		}
+	}
 	/**
 	 * Test JDI methodByName
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,17 @@
  *******************************************************************************/
 package org.eclipse.debug.jdi.tests;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdi.internal.MirrorImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
+import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 
 import com.sun.jdi.Mirror;
 import com.sun.jdi.request.AccessWatchpointRequest;
@@ -141,4 +149,26 @@ public class MirrorTest extends AbstractJDITest {
 			assertEquals(Integer.toString(i), fVM, mirror.virtualMachine());
 		}
 	}
+	/**
+	 * Test that asynchronous and batched requests get the same replies as
+	 * synchronous ones.
+	 */
+	public void testJDIRequestVMAsync() {
+		VirtualMachineImpl vm = (VirtualMachineImpl) fVM;
+		JdwpReplyPacket syncReply = vm.requestVM(JdwpCommandPacket.VM_ID_SIZES);
+		CompletableFuture<JdwpReplyPacket> asyncReply = vm.requestVMAsync(JdwpCommandPacket.VM_ID_SIZES, null);
+		JdwpReplyPacket reply = MirrorImpl.awaitReply(asyncReply);
+		assertEquals("1", JdwpReplyPacket.NONE, reply.errorCode());
+		assertTrue("2", Arrays.equals(syncReply.data(), reply.data()));
+
+		List<byte[]> requests = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			requests.add(null);
+		}
+		List<JdwpReplyPacket> replies = vm.requestVMBatch(JdwpCommandPacket.VM_ID_SIZES, requests);
+		assertEquals("3", requests.size(), replies.size());
+		for (int i = 0; i < replies.size(); i++) {
+			assertTrue(Integer.toString(i), Arrays.equals(syncReply.data(), replies.get(i).data()));
+		}
+	}
 }
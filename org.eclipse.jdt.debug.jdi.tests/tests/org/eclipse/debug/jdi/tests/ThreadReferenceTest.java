@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,12 @@
 package org.eclipse.debug.jdi.tests;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+
 import com.sun.jdi.ClassNotLoadedException;
 import com.sun.jdi.ClassType;
 import com.sun.jdi.IncompatibleThreadStateException;
@@ -158,6 +162,28 @@ public class ThreadReferenceTest extends AbstractJDITest {
 				|| (status == ThreadReference.THREAD_STATUS_SLEEPING)
 				|| (status == ThreadReference.THREAD_STATUS_WAIT)));
 	}
+	/**
+	 * Test JDI ThreadReferenceImpl.states(VirtualMachineImpl, List).
+	 */
+	public void testJDIStates() {
+		List<ThreadReferenceImpl.State> states = ThreadReferenceImpl.states((VirtualMachineImpl) fVM, Collections.singletonList(fThread));
+		assertEquals("1", 1, states.size());
+		ThreadReferenceImpl.State state = states.get(0);
+		assertEquals("2", fThread, state.thread());
+		assertEquals("3", fThread.status(), state.status());
+		assertEquals("4", fThread.isSuspended(), state.isSuspended());
+		assertEquals("5", fThread.suspendCount(), state.suspendCount());
+		assertEquals("6", fThread.name(), state.name());
+		assertEquals("7", fThread.threadGroup(), state.threadGroup());
+	}
+	/**
+	 * Test JDI ThreadReferenceImpl.suspendCounts(VirtualMachineImpl, List).
+	 */
+	public void testJDISuspendCounts() {
+		List<Integer> suspendCounts = ThreadReferenceImpl.suspendCounts((VirtualMachineImpl) fVM, Collections.singletonList(fThread));
+		assertEquals("1", 1, suspendCounts.size());
+		assertEquals("2", Integer.valueOf(fThread.suspendCount()), suspendCounts.get(0));
+	}
 	/**
 	 * Test JDI stop(ObjectReference).
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,14 @@
  *******************************************************************************/
 package org.eclipse.debug.jdi.tests;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Vector;
 
+import org.eclipse.jdi.internal.VirtualMachineImpl;
+
 import com.sun.jdi.BooleanValue;
 import com.sun.jdi.ByteValue;
 import com.sun.jdi.CharValue;
@@ -296,6 +299,16 @@ public class VirtualMachineTest extends AbstractJDITest {
 		List<?> classes = fVM.classesByName("java.lang.Object");
 		assertEquals("1", 1, classes.size());
 	}
+	/**
+	 * Test JDI VirtualMachineImpl.classesByNames(List).
+	 */
+	public void testJDIClassesByNames() {
+		List<List<ReferenceType>> classes = ((VirtualMachineImpl) fVM).classesByNames(Arrays.asList("java.lang.Object", "org.eclipse.debug.jdi.tests.program.NoSuchClass", "java.util.Date"));
+		assertEquals("1", 3, classes.size());
+		assertEquals("2", fVM.classesByName("java.lang.Object"), classes.get(0));
+		assertTrue("3", classes.get(1).isEmpty());
+		assertEquals("4", fVM.classesByName("java.util.Date"), classes.get(2));
+	}
 	/**
 	 * Test JDI allClasses() and JDWP 'VM- Get all classes'
 	 * once the test program has been started.
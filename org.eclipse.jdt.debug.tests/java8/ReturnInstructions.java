@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+import java.util.function.IntSupplier;
+
+public class ReturnInstructions {
+
+	public static void main(String[] args) {
+		int sum = 0;
+		for (int i = 0; i < 4; i++) {
+			sum += tableSwitch1(i) + tableSwitch2(i) + tableSwitch3(i) + tableSwitch4(i);
+			sum += lookupSwitch1(i) + lookupSwitch2(i) + lookupSwitch3(i) + lookupSwitch4(i);
+		}
+		sum += wideIncrement(sum) + dynamicInvocation(sum) + caughtException(sum);
+		System.out.println(sum);
+	}
+
+	// the switch instructions start at different offsets, so that their
+	// operands are preceded by each amount of padding
+
+	static int tableSwitch1(int i) {
+		switch (i) {
+			case 0: return 10;
+			case 1: return 11;
+			case 2: return 12;
+			default: return -1;
+		}
+	}
+
+	static int tableSwitch2(int i) {
+		switch (-i) {
+			case 0: return 10;
+			case -1: return 11;
+			case -2: return 12;
+			default: return -1;
+		}
+	}
+
+	static int tableSwitch3(int i) {
+		switch (i + 1) {
+			case 1: return 10;
+			case 2: return 11;
+			case 3: return 12;
+			default: return -1;
+		}
+	}
+
+	static int tableSwitch4(int i) {
+		i++;
+		switch (i) {
+			case 1: return 10;
+			case 2: return 11;
+			case 3: return 12;
+			default: return -1;
+		}
+	}
+
+	static int lookupSwitch1(int i) {
+		switch (i) {
+			case 0: return 10;
+			case 100: return 11;
+			case 10000: return 12;
+			default: return -1;
+		}
+	}
+
+	static int lookupSwitch2(int i) {
+		switch (-i) {
+			case 0: return 10;
+			case -100: return 11;
+			case -10000: return 12;
+			default: return -1;
+		}
+	}
+
+	static int lookupSwitch3(int i) {
+		switch (i + 1) {
+			case 1: return 10;
+			case 100: return 11;
+			case 10000: return 12;
+			default: return -1;
+		}
+	}
+
+	static int lookupSwitch4(int i) {
+		i++;
+		switch (i) {
+			case 1: return 10;
+			case 100: return 11;
+			case 10000: return 12;
+			default: return -1;
+		}
+	}
+
+	static int wideIncrement(int i) {
+		i += 1000;
+		if (i > 0) {
+			return i;
+		}
+		return -i;
+	}
+
+	static int dynamicInvocation(int i) {
+		IntSupplier supplier = () -> i * 2;
+		return supplier.getAsInt();
+	}
+
+	static int caughtException(int i) {
+		try {
+			if (i < 0) {
+				throw new IllegalArgumentException();
+			}
+		} catch (IllegalArgumentException e) {
+			return 0;
+		}
+		return i;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,17 @@ import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IStackFrame;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.internal.ui.views.console.ProcessConsole;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaPrimitiveValue;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.eval.EvaluationManager;
+import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
+import org.eclipse.jdt.debug.eval.ICompiledExpression;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.debug.tests.TestUtil;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
 
 /**
  * Tests conditional breakpoints.
@@ -63,6 +68,41 @@ public class ConditionalBreakpointsTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Tests that a condition compiled in one thread is reused by another thread
+	 * hitting the breakpoint at the same location, and that it is compiled
+	 * again for a frame at another location
+	 */
+	public void testCompiledConditionSharedAcrossThreads() throws Exception {
+		String typeName = "MultiThreadedLoop";
+		String condition = "i == 3";
+		IJavaLineBreakpoint bp = createConditionalLineBreakpoint(43, typeName, condition, true);
+
+		IJavaThread thread= null;
+		IAstEvaluationEngine engine = null;
+		try {
+			thread= launchToLineBreakpoint(typeName, bp);
+			IJavaStackFrame frame = (IJavaStackFrame)thread.getTopStackFrame();
+			engine = EvaluationManager.newAstEvaluationEngine(get14Project(), (IJavaDebugTarget) thread.getDebugTarget());
+			ICompiledExpression expression = ((JavaLineBreakpoint) bp).getExpression(engine, frame, condition);
+
+			IJavaThread other = resumeToLineBreakpoint(thread, bp);
+			assertNotSame("Breakpoint should be hit by the other thread", thread, other);
+			thread = other;
+			frame = (IJavaStackFrame)thread.getTopStackFrame();
+			assertSame("Compiled condition should be reused", expression, ((JavaLineBreakpoint) bp).getExpression(engine, frame, condition));
+
+			IJavaStackFrame caller = (IJavaStackFrame)thread.getStackFrames()[1];
+			assertNotSame("Condition should be compiled for another location", expression, ((JavaLineBreakpoint) bp).getExpression(engine, caller, condition));
+		} finally {
+			if (engine != null) {
+				engine.dispose();
+			}
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
 	/**
 	 * Tests a static method call that has a conditional breakpoint on it
 	 */
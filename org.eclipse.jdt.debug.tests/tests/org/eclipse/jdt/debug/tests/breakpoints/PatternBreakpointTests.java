@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2012 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.List;
 
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.ILineBreakpoint;
+import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaPatternBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaStratumLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
@@ -227,4 +228,32 @@ public class PatternBreakpointTests extends AbstractDebugTest {
 			getBreakpointManager().setEnabled(true);
 		}
 	}
+
+	/**
+	 * Tests pattern breakpoints installed in a running target just before and
+	 * just after the classes they are set in are loaded
+	 */
+	public void testPatternBreakpointsInClassesLoadedAroundInstall() throws Exception {
+		String sourceName = "Breakpoints.java";
+		String pattern = "Break";
+		String typeName = "Breakpoints";
+		createLineBreakpoint(55, typeName);
+		IJavaLineBreakpoint loaded = createLineBreakpoint(153, typeName);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			// InnerRunnable is loaded right after the breakpoint is installed
+			IJavaPatternBreakpoint run = createPatternBreakpoint(64, sourceName, pattern);
+			thread = resumeToLineBreakpoint(thread, run);
+			run.delete();
+			// InnerBreakpoints has just been loaded when the breakpoint is installed
+			thread = resumeToLineBreakpoint(thread, loaded);
+			IJavaPatternBreakpoint inner = createPatternBreakpoint(25, sourceName, pattern);
+			thread = resumeToLineBreakpoint(thread, inner);
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2017 salesforce.com.
+ *  Copyright (c) 2017, 2026 salesforce.com.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
@@ -30,6 +32,7 @@ import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.tests.AbstractDebugTest;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher.AbstractDispatchJob;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
 public class EventDispatcherTest extends AbstractDebugTest {
@@ -62,9 +65,31 @@ public class EventDispatcherTest extends AbstractDebugTest {
 		if (jobListener != null) {
 			Job.getJobManager().removeJobChangeListener(jobListener);
 		}
+		setParallelEventDispatch(false);
 		super.tearDown();
 	}
 
+	private void setParallelEventDispatch(boolean parallel) {
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(JDIDebugPlugin.getUniqueIdentifier());
+		if (parallel) {
+			prefs.putBoolean(JDIDebugPlugin.PREF_PARALLEL_EVENT_DISPATCH, true);
+		} else {
+			prefs.remove(JDIDebugPlugin.PREF_PARALLEL_EVENT_DISPATCH);
+		}
+	}
+
+	private int countLaneJobs() {
+		int count = 0;
+		synchronized (jobs) {
+			for (AbstractDispatchJob job : jobs.keySet()) {
+				if (job.getName().equals("JDI Event Dispatch Lane")) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	public void test285130_bulkThreadCreation() throws Exception {
 		// the real goal of this test is to validate that rapidly delivered JDI events do not start large number of threads
 		// unfortunately there is no direct way to observe startup of the JDI event processing threads
@@ -123,8 +148,70 @@ public class EventDispatcherTest extends AbstractDebugTest {
 			terminateAndRemove(thread);
 			removeAllBreakpoints();
 		}
-		// Expect to see two jobs for conditional breakpoint with 1) class prepare and 2) breakpoint hit events
-		assertEquals("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), 2, jobs.size());
+		// Expect to see at most two jobs for conditional breakpoint with 1) class prepare and 2) breakpoint hit events,
+		// evaluation dispatch jobs are reused so both event sets may be dispatched by the same job
+		assertTrue("Unexpected number of event dispatching jobs: " + jobs.size() + " | " + jobs.keySet(), jobs.size() >= 1 && jobs.size() <= 2);
+	}
+
+	/**
+	 * Tests that with parallel event dispatch all thread start events are
+	 * dispatched before the VM terminates, and that the VM death event waits
+	 * for the lanes.
+	 */
+	public void testParallelBulkThreadCreation() throws Exception {
+		setParallelEventDispatch(true);
+		AtomicInteger threadCount = new AtomicInteger();
+		IDebugEventSetListener debugListener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.CREATE && event.getSource() instanceof JDIThread) {
+					JDIThread thread = (JDIThread) event.getSource();
+					try {
+						if (thread.getName().startsWith("bulk-")) {
+							threadCount.incrementAndGet();
+						}
+					}
+					catch (DebugException e) {
+					}
+				}
+			}
+		};
+		IJavaThread suspendedThread = null;
+		try {
+			DebugPlugin.getDefault().addDebugEventListener(debugListener);
+			createLineBreakpoint(27, "BulkThreadCreationTest");
+			suspendedThread = launchToBreakpoint("BulkThreadCreationTest");
+			assertEquals("Unexpected number of JDIThread thread-create events", 1000, threadCount.get());
+			resumeAndExit(suspendedThread);
+		}
+		finally {
+			terminateAndRemove(suspendedThread);
+			removeAllBreakpoints();
+			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+		}
+		assertTrue("Thread events should be dispatched by lanes", countLaneJobs() > 0);
+	}
+
+	/**
+	 * Tests that with parallel event dispatch a conditional breakpoint hit in
+	 * a thread started after the launch is evaluated in that thread, after its
+	 * thread start event.
+	 */
+	public void testParallelConditionalBreakpointInNewThread() throws Exception {
+		setParallelEventDispatch(true);
+		String typeName = "MultiThreadedLoop";
+		IJavaLineBreakpoint breakpoint = createConditionalLineBreakpoint(43, typeName, "Thread.currentThread().getName().equals(\"2ndThread\")", true);
+		IJavaThread thread = null;
+		try {
+			thread = launchToLineBreakpoint(typeName, breakpoint);
+			assertEquals("Wrong thread suspended", "2ndThread", thread.getName());
+			IStackFrame top = thread.getTopStackFrame();
+			assertNotNull("Missing top frame", top);
+			assertEquals("Wrong location", breakpoint.getLineNumber(), top.getLineNumber());
+		}
+		finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
 	}
 
 }
\ No newline at end of file
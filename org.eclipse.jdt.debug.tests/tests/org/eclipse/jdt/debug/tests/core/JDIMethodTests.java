@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.debug.tests.core;
+
+import java.util.List;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.debug.core.IJavaThread;
+import org.eclipse.jdt.debug.tests.AbstractDebugTest;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIMethod;
+
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+
+/**
+ * Tests the analysis of the byte code of methods by {@link JDIMethod}
+ */
+public class JDIMethodTests extends AbstractDebugTest {
+
+	private static final int RETURN = 0xb1;
+
+	public JDIMethodTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected IJavaProject getProjectContext() {
+		return get18Project();
+	}
+
+	/**
+	 * Tests that the return instructions of methods are found after switch
+	 * instructions with each amount of padding, 'wide' and 'invokedynamic'
+	 * instructions, and that methods throwing exceptions are not analysed.
+	 */
+	public void testReturnCodeIndexes() throws Exception {
+		String typeName = "ReturnInstructions";
+		createLineBreakpoint(20, typeName);
+		IJavaThread thread = null;
+		try {
+			thread = launchToBreakpoint(typeName);
+			assertNotNull("Breakpoint not hit within timeout period", thread);
+			List<ReferenceType> types = ((JDIDebugTarget) thread.getDebugTarget()).getVM().classesByName(typeName);
+			assertEquals("Wrong number of types", 1, types.size());
+			ReferenceType type = types.get(0);
+			for (int i = 1; i <= 4; i++) {
+				assertReturnCodeIndexes(type, "tableSwitch" + i, 4);
+				assertReturnCodeIndexes(type, "lookupSwitch" + i, 4);
+			}
+			assertReturnCodeIndexes(type, "wideIncrement", 2);
+			assertReturnCodeIndexes(type, "dynamicInvocation", 1);
+			assertReturnCodeIndexes(type, "main", 1);
+			assertNull("Method throwing an exception should not be analysed", JDIMethod.getReturnCodeIndexes(getMethod(type, "caughtException")));
+		} finally {
+			terminateAndRemove(thread);
+			removeAllBreakpoints();
+		}
+	}
+
+	private void assertReturnCodeIndexes(ReferenceType type, String name, int returns) {
+		Method method = getMethod(type, name);
+		long[] indexes = JDIMethod.getReturnCodeIndexes(method);
+		assertNotNull("Byte code of " + name + " not analysed", indexes);
+		assertEquals("Wrong number of return instructions in " + name, returns, indexes.length);
+		byte[] bytecodes = method.bytecodes();
+		for (long index : indexes) {
+			byte opCode = bytecodes[(int) index];
+			assertTrue("No return instruction in " + name + " at " + index, JDIMethod.isXReturn(opCode) || (opCode & 0xFF) == RETURN);
+		}
+	}
+
+	private Method getMethod(ReferenceType type, String name) {
+		List<Method> methods = type.methodsByName(name);
+		assertEquals("Wrong number of methods named " + name, 1, methods.size());
+		return methods.get(0);
+	}
+}
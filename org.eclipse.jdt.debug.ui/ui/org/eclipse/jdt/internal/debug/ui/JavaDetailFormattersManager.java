@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.ui;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
@@ -26,6 +30,7 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchesListener;
+import org.eclipse.debug.core.model.IDebugElement;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.ui.DebugUITools;
@@ -55,6 +60,8 @@ import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
 import org.eclipse.jdt.internal.debug.core.logicalstructures.JDIAllInstancesValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIReferenceListValue;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -96,6 +103,18 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 	 */
 	private final HashMap<Key, Expression> fCacheMap;
 
+	/**
+	 * Maximum number of computed details kept in the detail cache.
+	 */
+	private static final int MAX_CACHED_DETAILS = 500;
+
+	/**
+	 * Cache of computed details, least recently used first.
+	 * Associate an object, the formatter used and the suspend count of its target
+	 * to the detail computed for it, so that details are computed once per suspend.
+	 */
+	private final Map<DetailKey, String> fDetailCache;
+
 	/**
 	 * JavaDetailFormattersManager constructor.
 	 */
@@ -106,6 +125,14 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		DebugPlugin.getDefault().addDebugEventListener(this);
 		DebugUITools.getPreferenceStore().addPropertyChangeListener(this);
 		fCacheMap= new HashMap<>();
+		fDetailCache= Collections.synchronizedMap(new LinkedHashMap<DetailKey, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<DetailKey, String> eldest) {
+				return size() > MAX_CACHED_DETAILS;
+			}
+		});
 	}
 
 	/**
@@ -157,6 +184,15 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				IJavaDebugTarget debugTarget= (IJavaDebugTarget) thread.getDebugTarget();
 				// get the compiled expression to use
 				Expression expression= getCompiledExpression(objectValue, debugTarget, thread);
+				DetailKey detailKey= getDetailKey(objectValue, debugTarget, expression);
+				if (detailKey != null) {
+					String detail= fDetailCache.get(detailKey);
+					if (detail != null) {
+						listener.detailComputed(value, detail);
+						return;
+					}
+					evaluationListener.setCacheKey(detailKey);
+				}
 				if (expression != null) {
 					expression.getEngine().evaluateExpression(expression.getExpression(), objectValue, thread,
 							evaluationListener, DebugEvent.EVALUATION_IMPLICIT, false);
@@ -180,6 +216,31 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		}
 	}
 
+	/**
+	 * Returns the key of the detail of the given object in the detail cache or
+	 * <code>null</code> if the detail of the object is not cached.
+	 *
+	 * @param javaObject the object
+	 * @param debugTarget the target of the object
+	 * @param expression the formatter used for the object or <code>null</code> if its <code>toString()</code> is used
+	 * @return the key of the detail or <code>null</code>
+	 * @throws DebugException if the unique id of the object cannot be retrieved
+	 */
+	private DetailKey getDetailKey(IJavaObject javaObject, IJavaDebugTarget debugTarget, Expression expression) throws DebugException {
+		if (!(debugTarget instanceof JDIDebugTarget) || javaObject instanceof JDINullValue) {
+			return null;
+		}
+		// strings are displayed without an evaluation
+		if (EvaluationListener.STRING_SIGNATURE.equals(javaObject.getSignature())) {
+			return null;
+		}
+		long uniqueId= javaObject.getUniqueId();
+		if (uniqueId == -1) {
+			return null;
+		}
+		return new DetailKey(debugTarget, uniqueId, expression, ((JDIDebugTarget) debugTarget).getSuspendCount());
+	}
+
 	private IJavaProject getJavaProject(IJavaObject javaValue, IJavaThread thread) throws CoreException {
 
 		IType type = null;
@@ -451,6 +512,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				property.equals(IDebugUIConstants.PREF_MAX_DETAIL_LENGTH)) {
 			populateDetailFormattersMap();
 			fCacheMap.clear();
+			fDetailCache.clear();
 			// If a Java stack frame is selected in the Debug view, fire a change event on
 			// it so the variables view will update for any formatter changes.
             IAdaptable selected = DebugUITools.getDebugContext();
@@ -473,6 +535,21 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 			DebugEvent event = events[i];
 			if (event.getSource() instanceof IJavaDebugTarget && event.getKind() == DebugEvent.TERMINATE) {
 				deleteCacheForTarget((IJavaDebugTarget) event.getSource());
+			} else if (event.getKind() == DebugEvent.RESUME && event.getDetail() != DebugEvent.EVALUATION_IMPLICIT) {
+				// objects may change once the target runs again
+				if (event.getSource() instanceof IJavaThread || event.getSource() instanceof IJavaDebugTarget) {
+					IDebugTarget target= ((IDebugElement) event.getSource()).getDebugTarget();
+					if (target instanceof IJavaDebugTarget) {
+						deleteDetailsForTarget((IJavaDebugTarget) target);
+					}
+				}
+			} else if (event.getKind() == DebugEvent.CHANGE && event.getSource() instanceof IDebugElement) {
+				// a value may have been modified while suspended, e.g. by
+				// assigning a variable or dropping to a frame
+				IDebugTarget target= ((IDebugElement) event.getSource()).getDebugTarget();
+				if (target instanceof IJavaDebugTarget) {
+					deleteDetailsForTarget((IJavaDebugTarget) target);
+				}
 			}
 		}
 	}
@@ -520,6 +597,19 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				iter.remove();
 			}
 		}
+		deleteDetailsForTarget(debugTarget);
+	}
+
+	/**
+	 * Remove from the detail cache the details computed for objects of
+	 * the given debug target.
+	 *
+	 * @param debugTarget the target
+	 */
+	private void deleteDetailsForTarget(IJavaDebugTarget debugTarget) {
+		synchronized (fDetailCache) {
+			fDetailCache.keySet().removeIf(key -> key.fDebugTarget == debugTarget);
+		}
 	}
 
 	/**
@@ -550,6 +640,39 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		}
 	}
 
+	/**
+	 * Object used as the key in the detail cache to associate a computed detail
+	 * with an object, the formatter used and the suspend count of its debug target
+	 */
+	static private class DetailKey {
+		private final IJavaDebugTarget fDebugTarget;
+		private final long fUniqueId;
+		private final Expression fExpression;
+		private final int fSuspendCount;
+
+		DetailKey(IJavaDebugTarget debugTarget, long uniqueId, Expression expression, int suspendCount) {
+			fDebugTarget= debugTarget;
+			fUniqueId= uniqueId;
+			fExpression= expression;
+			fSuspendCount= suspendCount;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof DetailKey) {
+				DetailKey key= (DetailKey) obj;
+				return fDebugTarget.equals(key.fDebugTarget) && fUniqueId == key.fUniqueId
+						&& fExpression == key.fExpression && fSuspendCount == key.fSuspendCount;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return fDebugTarget.hashCode() / 2 + Long.hashCode(fUniqueId) * 31 + fSuspendCount;
+		}
+	}
+
 	/**
 	 * Stores a compiled expression and evaluation engine used to evaluate the expression.
 	 */
@@ -573,7 +696,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 	 * Listener use to manage the result of the formatter.
 	 * Utilizes the 'standard' pretty printer methods to return the result.
 	 */
-	static private class EvaluationListener implements IEvaluationListener {
+	private class EvaluationListener implements IEvaluationListener {
 
 		/**
 		 * The selector of <code>java.lang.Object#toString()</code>,
@@ -599,12 +722,31 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 
 		private final IJavaThread fThread;
 
+		/**
+		 * Key of the computed detail in the detail cache or <code>null</code>
+		 */
+		private DetailKey fCacheKey;
+
 		public EvaluationListener(IJavaValue value, IJavaThread thread, IValueDetailListener listener) {
 			fValue= value;
 			fThread= thread;
 			fListener= listener;
 		}
 
+		public void setCacheKey(DetailKey key) {
+			fCacheKey= key;
+		}
+
+		/*
+		 * Notifies the listener of the computed detail, caching it when it is not an error.
+		 */
+		private void detailComputed(String detail, boolean cache) {
+			if (cache && fCacheKey != null) {
+				fDetailCache.put(fCacheKey, detail);
+			}
+			fListener.detailComputed(fValue, detail);
+		}
+
 		@Override
 		public void evaluationComplete(IEvaluationResult result) {
 			if (result.hasErrors()) {
@@ -640,6 +782,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 		public void valueToString(final IJavaValue objectValue) throws DebugException {
 			String nonEvalResult = null;
 			StringBuilder result= null;
+			boolean cache = true;
 			if (objectValue.getSignature() == null) {
 				// no need to spawn evaluate for a null fValue
 				nonEvalResult = DebugUIMessages.JavaDetailFormattersManager_null;
@@ -649,6 +792,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				appendJDIPrimitiveValueString(result, objectValue);
 			} else if (fThread == null || !fThread.isSuspended()) {
 				// no thread available
+				cache = false;
 				result = new StringBuilder();
 				result.append(DebugUIMessages.JavaDetailFormattersManager_no_suspended_threads);
 				appendJDIValueString(result, objectValue);
@@ -661,7 +805,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 				nonEvalResult = result.toString();
 			}
 			if (nonEvalResult != null) {
-				fListener.detailComputed(fValue, nonEvalResult);
+				detailComputed(nonEvalResult, cache);
 				return;
 			}
 
@@ -676,7 +820,7 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 					} else {
 						appendJDIValueString(buf, objectValue);
 					}
-					fListener.detailComputed(fValue, buf.toString());
+					detailComputed(buf.toString(), true);
 				}
 			};
 			fThread.runEvaluation(eval, null, DebugEvent.EVALUATION_IMPLICIT, false);
@@ -697,6 +841,15 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 			int length = -1;
 			try {
 				length = arrayValue.getLength();
+				if (length > 0 && arrayValue instanceof JDIArrayValue) {
+					// primitive values are retrieved in bulk without a value per element
+					int count = maxLength > 0 && length > maxEntries ? maxEntries : length;
+					Object primitiveValues = ((JDIArrayValue) arrayValue).getPrimitiveValues(0, count);
+					if (primitiveValues != null) {
+						appendPrimitiveArrayDetail(result, primitiveValues, count < length, maxLength);
+						return;
+					}
+				}
 				if (maxLength > 0 && length > maxEntries) {
 					partial = true;
 					IVariable[] variables = arrayValue.getVariables(0, maxEntries);
@@ -735,6 +888,26 @@ public class JavaDetailFormattersManager implements IPropertyChangeListener, IDe
 			}
 		}
 
+		/*
+		 * Appends the values of a primitive array retrieved in bulk, in the same format as appendArrayDetail.
+		 */
+		private void appendPrimitiveArrayDetail(StringBuilder result, Object primitiveValues, boolean partial, int maxLength) {
+			int length = Array.getLength(primitiveValues);
+			for (int i = 0; i < length; i++) {
+				result.append(Array.get(primitiveValues, i));
+				if (i < length - 1) {
+					result.append(',');
+					result.append(' ');
+				}
+				if (partial && result.length() > maxLength) {
+					break;
+				}
+			}
+			if (!partial) {
+				result.append(']');
+			}
+		}
+
 		protected void appendJDIPrimitiveValueString(StringBuilder result, IJavaValue value) throws DebugException {
 			result.append(value.getValueString());
 		}
@@ -1,6 +1,6 @@
 /*******************************************************************************
 
- * Copyright (c) 2019, 2020 Jesper Steen Møller and others.
+ * Copyright (c) 2019, 2026 Jesper Steen Møller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import static org.eclipse.jdt.core.eval.ICodeSnippetRequestor.LOCAL_VAR_PREFIX;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -39,6 +40,7 @@ import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIArrayValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
@@ -57,7 +59,12 @@ public class RemoteEvaluator {
 
 	private final List<String> variableNames;
 
-	private final IJavaClassObject loadedClass = null;
+	/**
+	 * The code snippet class defined by this evaluator, per class loader it was
+	 * defined in. The snippet classes stay defined in a class loader, so later
+	 * evaluations in the same loader do not look them up or define them again.
+	 */
+	private final Map<IJavaObject, IJavaClassObject> loadedClasses = new ConcurrentHashMap<>();
 
 	private final String enclosingTypeName;
 
@@ -73,16 +80,20 @@ public class RemoteEvaluator {
 	}
 
 	private IJavaClassObject loadTheClasses(IJavaThread theThread) throws DebugException {
-
-		if (loadedClass != null) {
-			return loadedClass;
-		}
 		JDIDebugTarget debugTarget = ((JDIDebugTarget) theThread.getDebugTarget());
 		IJavaClassObject theMainClass = null;
 		IJavaObject classloader = null;
 
 		IJavaReferenceType surroundingClass = findType(this.enclosingTypeName, debugTarget);
 		classloader = surroundingClass.getClassLoaderObject();
+		if (classloader != null) {
+			theMainClass = loadedClasses.get(classloader);
+			if (theMainClass != null) {
+				return theMainClass;
+			}
+			// forget the classes of targets that are gone
+			loadedClasses.keySet().removeIf(loader -> loader.getDebugTarget().isTerminated() || loader.getDebugTarget().isDisconnected());
+		}
 
 		for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
 			String className = entry.getKey();
@@ -108,6 +119,9 @@ public class RemoteEvaluator {
 				}
 			}
 		}
+		if (classloader != null && theMainClass != null) {
+			loadedClasses.put(classloader, theMainClass);
+		}
 		return theMainClass;
 	}
 
@@ -115,6 +129,9 @@ public class RemoteEvaluator {
 		IJavaReferenceType byteArrayType = findType("byte[]", debugTarget);//$NON-NLS-1$
 		byte[] classBytes = entry.getValue();
 		IJavaArray byteArray = ((IJavaArrayType) byteArrayType).newInstance(classBytes.length);
+		if (byteArray instanceof JDIArrayValue && ((JDIArrayValue) byteArray).setBytes(0, classBytes)) {
+			return byteArray;
+		}
 
 		IJavaValue[] debugClassBytes = new IJavaValue[classBytes.length];
 		for (int ix = 0; ix < classBytes.length; ++ix) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -214,6 +214,51 @@ public class ASTInstructionCompiler extends ASTVisitor {
 		fStack.push(i);
 	}
 
+	/**
+	 * Pushes an instruction pushing the value of the given expression if it is
+	 * a constant expression of a primitive type or <code>String</code>, such
+	 * that constant subexpressions are folded at compile time instead of being
+	 * computed on each evaluation.
+	 *
+	 * @param expression
+	 *            the expression
+	 * @return whether an instruction was pushed, in which case the operands of
+	 *         the expression must not be visited
+	 */
+	private boolean pushConstantValue(Expression expression) {
+		Object value = expression.resolveConstantExpressionValue();
+		if (value == null) {
+			return false;
+		}
+		switch (getTypeId(expression)) {
+		case Instruction.T_boolean:
+			push(new PushBoolean(((Boolean) value).booleanValue()));
+			return true;
+		case Instruction.T_char:
+			push(new PushChar(((Character) value).charValue()));
+			return true;
+		case Instruction.T_byte:
+		case Instruction.T_short:
+		case Instruction.T_int:
+			push(new PushInt(((Number) value).intValue()));
+			return true;
+		case Instruction.T_long:
+			push(new PushLong(((Number) value).longValue()));
+			return true;
+		case Instruction.T_float:
+			push(new PushFloat(((Number) value).floatValue()));
+			return true;
+		case Instruction.T_double:
+			push(new PushDouble(((Number) value).doubleValue()));
+			return true;
+		case Instruction.T_String:
+			push(new PushString((String) value));
+			return true;
+		default:
+			return false;
+		}
+	}
+
 	private void storeInstruction() {
 		Instruction instruction = null;
 		try {
@@ -2573,6 +2618,11 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			return false;
 		}
 
+		if (pushConstantValue(node)) {
+			storeInstruction();
+			return false;
+		}
+
 		String opToken = node.getOperator().toString();
 		int opTokenLength = opToken.length();
 		char char0 = opToken.charAt(0);
@@ -3513,6 +3563,10 @@ public class ASTInstructionCompiler extends ASTVisitor {
 			return false;
 		}
 
+		if (pushConstantValue(node)) {
+			return false;
+		}
+
 		Expression operand = node.getOperand();
 		int expressionTypeId = getTypeId(operand);
 
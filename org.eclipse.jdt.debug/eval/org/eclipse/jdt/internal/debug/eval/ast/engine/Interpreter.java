@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,22 +14,29 @@
 package org.eclipse.jdt.internal.debug.eval.ast.engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.model.IThread;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.core.IJavaVariable;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.Instruction;
 import org.eclipse.jdt.internal.debug.eval.ast.instructions.InstructionSequence;
 
@@ -39,7 +46,11 @@ public class Interpreter {
 	private final Instruction[] fInstructions;
 	private int fInstructionCounter;
 	private final IRuntimeContext fContext;
-	private Stack<Object> fStack;
+	/**
+	 * The operand stack, only accessed by the evaluating thread
+	 */
+	private Object[] fStack;
+	private int fStackSize;
 	private IJavaValue fLastValue;
 
 	/**
@@ -52,6 +63,23 @@ public class Interpreter {
 	 */
 	private List<IJavaObject> fPermStorage = null;
 
+	/**
+	 * Objects pushed onto the stack for which GC has not been disabled yet
+	 */
+	private List<IJavaObject> fPendingObjects = null;
+
+	/**
+	 * Objects pushed onto the stack, whether GC has been disabled for them
+	 * yet or not
+	 */
+	private Set<IJavaObject> fPushedObjects = null;
+
+	/**
+	 * Whether disabling GC of pushed objects may be deferred, as all threads
+	 * of the target were suspended when the evaluation started
+	 */
+	private boolean fDeferCollection;
+
 	private boolean fStopped = false;
 
 	public Interpreter(InstructionSequence instructions, IRuntimeContext context) {
@@ -61,13 +89,16 @@ public class Interpreter {
 	}
 
 	public void execute(boolean disableGcOnResult) throws CoreException {
+		Interpreter previous = Instruction.setInterpreter(this);
 		try {
 			reset();
 			while (fInstructionCounter < fInstructions.length && !fStopped) {
 				Instruction instruction = fInstructions[fInstructionCounter++];
-				instruction.setInterpreter(this);
+				if (fPendingObjects != null && !fPendingObjects.isEmpty()
+						&& (!fDeferCollection || instruction.mayTriggerGarbageCollection())) {
+					disablePendingCollection();
+				}
 				instruction.execute();
-				instruction.setInterpreter(null);
 			}
 		} catch (CoreException e) {
 			throw e;
@@ -75,6 +106,7 @@ public class Interpreter {
 			throw new CoreException(new Status(IStatus.ERROR,
 					JDIDebugModel.getPluginIdentifier(), e.getMessage(), e));
 		} finally {
+			Instruction.setInterpreter(previous);
 			releaseObjects(disableGcOnResult);
 		}
 	}
@@ -84,8 +116,14 @@ public class Interpreter {
 	}
 
 	private void reset() {
-		fStack = new Stack<>();
+		fStack = new Object[16];
+		fStackSize = 0;
 		fInstructionCounter = 0;
+		fDeferCollection = Platform.getPreferencesService().getBoolean(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_DEFER_EVALUATION_GC_PINNING,
+				false,
+				null) && isTargetSuspended();
 	}
 
 	/**
@@ -99,58 +137,138 @@ public class Interpreter {
 	 * Pushes an object onto the stack. Disables garbage collection for any
 	 * interim object pushed onto the stack. Objects are released after the
 	 * evaluation completes.
+	 * <p>
+	 * Garbage collection is disabled in batches before the next instruction
+	 * executes. While all threads of the target are suspended, nothing is
+	 * collected unless code runs or objects are allocated in the target, so
+	 * this may be deferred until an instruction may do so.
+	 * </p>
 	 */
 	public void push(Object object) {
-		fStack.push(object);
-		if (object instanceof IJavaObject) {
-			disableCollection((IJavaObject) object);
+		if (fStackSize == fStack.length) {
+			fStack = Arrays.copyOf(fStack, fStackSize * 2);
+		}
+		fStack[fStackSize++] = object;
+		if (object instanceof IJavaObject && !((IJavaObject) object).isNull()) {
+			if (fPushedObjects == null) {
+				fPushedObjects = new HashSet<>();
+				fPendingObjects = new ArrayList<>(5);
+			}
+			// objects pushed again are already protected
+			if (fPushedObjects.add((IJavaObject) object)) {
+				fPendingObjects.add((IJavaObject) object);
+			}
 		}
 	}
 
 	/**
-	 * Avoid garbage collecting interim results.
-	 *
-	 * @param value
-	 *            object to disable garbage collection for
+	 * Avoid garbage collecting interim results pushed since the last call.
 	 */
-	private void disableCollection(IJavaObject value) {
+	private void disablePendingCollection() {
 		if (fPermStorage == null) {
-			fPermStorage = new ArrayList<>(5);
+			fPermStorage = new ArrayList<>(fPendingObjects.size());
+		}
+		List<IJavaObject> objects = new ArrayList<>(fPendingObjects);
+		fPendingObjects.clear();
+		if (setCollection(objects, false)) {
+			fPermStorage.addAll(objects);
+		}
+	}
+
+	/**
+	 * Re-enable garbage collection if interim results.
+	 */
+	private void releaseObjects(boolean disableGcOnResult) {
+		if (fPushedObjects == null) {
+			return;
+		}
+		IJavaValue result = getResult();
+		if (disableGcOnResult && fPendingObjects.contains(result)) {
+			// interim results no longer need protection, the result does
+			setCollection(List.of((IJavaObject) result), false);
 		}
+		if (fPermStorage != null) {
+			List<IJavaObject> objects = new ArrayList<>(fPermStorage.size());
+			for (IJavaObject object : fPermStorage) {
+				if (!disableGcOnResult || !object.equals(result)) {
+					objects.add(object);
+				}
+			}
+			setCollection(objects, true);
+			fPermStorage = null;
+		}
+		fPendingObjects = null;
+		fPushedObjects = null;
+	}
+
+	/**
+	 * Enables or disables garbage collection of the given objects, in one
+	 * batch when supported by the target.
+	 *
+	 * @return whether garbage collection was changed, <code>false</code> if
+	 *         the VM has terminated or the request failed, in which case it
+	 *         was not disabled for any of the objects
+	 */
+	private boolean setCollection(List<IJavaObject> objects, boolean enable) {
 		try {
-			value.disableCollection();
-			fPermStorage.add(value);
+			IJavaDebugTarget target = getContext().getVM();
+			if (target instanceof JDIDebugTarget) {
+				if (enable) {
+					JDIObjectValue.enableCollection((JDIDebugTarget) target, objects);
+				} else {
+					JDIObjectValue.disableCollection((JDIDebugTarget) target, objects);
+				}
+			} else if (enable) {
+				for (IJavaObject object : objects) {
+					object.enableCollection();
+				}
+			} else {
+				disableCollection(objects);
+			}
+			return true;
 		} catch (CoreException e) {
 			// don't worry about GC if the VM has terminated
-			if ((e.getStatus().getException() instanceof VMDisconnectedException)) {
-				return;
+			if (!(e.getStatus().getException() instanceof VMDisconnectedException)) {
+				JDIDebugPlugin.log(e);
 			}
-			JDIDebugPlugin.log(e);
+			return false;
 		}
 	}
 
 	/**
-	 * Re-enable garbage collection if interim results.
+	 * Disables garbage collection of the given objects one by one, enabling
+	 * it again for the objects already handled if one fails.
 	 */
-	private void releaseObjects(boolean disableGcOnResult) {
-		if (fPermStorage != null) {
-			IJavaValue result = getResult();
-			Iterator<IJavaObject> iterator = fPermStorage.iterator();
-			while (iterator.hasNext()) {
-				IJavaObject object = iterator.next();
-				try {
-					if (!disableGcOnResult || object != result) {
+	private void disableCollection(List<IJavaObject> objects) throws CoreException {
+		for (int i = 0; i < objects.size(); i++) {
+			try {
+				objects.get(i).disableCollection();
+			} catch (CoreException e) {
+				for (IJavaObject object : objects.subList(0, i)) {
+					try {
 						object.enableCollection();
+					} catch (CoreException e2) {
+						// report the original failure
 					}
-				} catch (CoreException e) {
-					// don't worry about GC if the VM has terminated
-					if ((e.getStatus().getException() instanceof VMDisconnectedException)) {
-						break;
-					}
-					JDIDebugPlugin.log(e);
 				}
+				throw e;
 			}
-			fPermStorage = null;
+		}
+	}
+
+	/**
+	 * @return whether all threads of the target are suspended
+	 */
+	private boolean isTargetSuspended() {
+		try {
+			for (IThread thread : getContext().getVM().getThreads()) {
+				if (!thread.isSuspended()) {
+					return false;
+				}
+			}
+			return true;
+		} catch (CoreException e) {
+			return false;
 		}
 	}
 
@@ -158,14 +276,22 @@ public class Interpreter {
 	 * Peeks at the top object of the stack
 	 */
 	public Object peek() {
-		return fStack.peek();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		return fStack[fStackSize - 1];
 	}
 
 	/**
 	 * Pops an object off of the stack
 	 */
 	public Object pop() {
-		return fStack.pop();
+		if (fStackSize == 0) {
+			throw new EmptyStackException();
+		}
+		Object object = fStack[--fStackSize];
+		fStack[fStackSize] = null;
+		return object;
 	}
 
 	/**
@@ -176,13 +302,13 @@ public class Interpreter {
 	}
 
 	public IJavaValue getResult() {
-		if (fStack == null || fStack.isEmpty()) {
+		if (fStack == null || fStackSize == 0) {
 			if (fLastValue == null) {
 				return getContext().getVM().voidValue();
 			}
 			return fLastValue;
 		}
-		Object top = fStack.peek();
+		Object top = fStack[fStackSize - 1];
 		if (top instanceof IJavaVariable) {
 			try {
 				return (IJavaValue) ((IJavaVariable) top).getValue();
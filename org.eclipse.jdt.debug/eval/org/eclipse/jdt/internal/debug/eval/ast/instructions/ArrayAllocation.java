@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,8 +27,6 @@ public class ArrayAllocation extends ArrayInstruction {
 
 	private final boolean fHasInitializer;
 
-	private IJavaArrayType[] fCachedArrayTypes;
-
 	/**
 	 * Constructor for ArrayAllocation.
 	 */
@@ -60,14 +58,14 @@ public class ArrayAllocation extends ArrayInstruction {
 
 			IJavaType type = (IJavaType) pop();
 
-			fCachedArrayTypes = new IJavaArrayType[fDimension + 1];
+			IJavaArrayType[] arrayTypes = new IJavaArrayType[fDimension + 1];
 
 			for (int i = fDimension, lim = fDimension - fExprDimension; i > lim; i--) {
-				fCachedArrayTypes[i] = (IJavaArrayType) type;
+				arrayTypes[i] = (IJavaArrayType) type;
 				type = ((IJavaArrayType) type).getComponentType();
 			}
 
-			IJavaArray array = createArray(fDimension, exprDimensions);
+			IJavaArray array = createArray(arrayTypes, fDimension, exprDimensions);
 
 			push(array);
 		}
@@ -76,10 +74,10 @@ public class ArrayAllocation extends ArrayInstruction {
 	/**
 	 * Create and populate an array.
 	 */
-	private IJavaArray createArray(int dimension, int[] exprDimensions)
-			throws CoreException {
+	private IJavaArray createArray(IJavaArrayType[] arrayTypes, int dimension,
+			int[] exprDimensions) throws CoreException {
 
-		IJavaArray array = fCachedArrayTypes[dimension]
+		IJavaArray array = arrayTypes[dimension]
 				.newInstance(exprDimensions[0]);
 
 		if (exprDimensions.length > 1) {
@@ -89,7 +87,7 @@ public class ArrayAllocation extends ArrayInstruction {
 			}
 
 			for (int i = 0; i < exprDimensions[0]; i++) {
-				array.setValue(i, createArray(dimension - 1, newExprDimension));
+				array.setValue(i, createArray(arrayTypes, dimension - 1, newExprDimension));
 			}
 
 		}
@@ -97,6 +95,11 @@ public class ArrayAllocation extends ArrayInstruction {
 		return array;
 	}
 
+	@Override
+	public boolean mayTriggerGarbageCollection() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.ArrayAllocation_array_allocation_1;
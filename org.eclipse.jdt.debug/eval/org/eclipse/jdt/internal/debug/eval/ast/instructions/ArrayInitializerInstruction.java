@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,11 @@ public class ArrayInitializerInstruction extends ArrayInstruction {
 
 	}
 
+	@Override
+	public boolean mayTriggerGarbageCollection() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.ArrayInitializerInstruction_array_initializer_1;
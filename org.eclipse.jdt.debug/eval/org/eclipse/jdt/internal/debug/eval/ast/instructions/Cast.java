@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -142,6 +142,11 @@ public class Cast extends CompoundInstruction {
 		return result;
 	}
 
+	@Override
+	public boolean mayTriggerGarbageCollection() {
+		return true;
+	}
+
 	/*
 	 * @see Object#toString()
 	 */
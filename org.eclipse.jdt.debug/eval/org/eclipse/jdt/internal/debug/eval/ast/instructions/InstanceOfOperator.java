@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,6 +59,11 @@ public class InstanceOfOperator extends CompoundInstruction {
 				new IJavaValue[] { object }, getContext().getThread(), false));
 	}
 
+	@Override
+	public boolean mayTriggerGarbageCollection() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.InstanceOfOperator__instanceof___operator_3;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,20 +36,39 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class Instruction {
 
-	private Interpreter fInterpreter;
+	/**
+	 * The interpreter executing instructions in the current thread. The
+	 * instructions of a compiled expression are shared by all evaluations of
+	 * the expression, which may run in different threads at the same time.
+	 */
+	private static final ThreadLocal<Interpreter> fgInterpreter = new ThreadLocal<>();
 
 	public abstract int getSize();
 
-	public void setInterpreter(Interpreter interpreter) {
-		fInterpreter = interpreter;
+	/**
+	 * Sets the interpreter executing instructions in the current thread.
+	 *
+	 * @param interpreter
+	 *            the interpreter, or <code>null</code>
+	 * @return the interpreter previously executing instructions in the current
+	 *         thread, or <code>null</code>
+	 */
+	public static Interpreter setInterpreter(Interpreter interpreter) {
+		Interpreter previous = fgInterpreter.get();
+		if (interpreter == null) {
+			fgInterpreter.remove();
+		} else {
+			fgInterpreter.set(interpreter);
+		}
+		return previous;
 	}
 
 	public void setLastValue(IJavaValue value) {
-		fInterpreter.setLastValue(value);
+		fgInterpreter.get().setLastValue(value);
 	}
 
 	public void stop() {
-		fInterpreter.stop();
+		fgInterpreter.get().stop();
 	}
 
 	public static int getBinaryPromotionType(int left, int right) {
@@ -58,8 +77,23 @@ public abstract class Instruction {
 
 	public abstract void execute() throws CoreException;
 
+	/**
+	 * Returns whether executing this instruction may cause a garbage
+	 * collection in the target, by running code in the target, such as
+	 * invoking a method or loading a class, or by allocating an object, such
+	 * as a string. Objects created or retrieved by the evaluation may be
+	 * collected while code runs or objects are allocated in the target, even
+	 * when all its threads are suspended.
+	 *
+	 * @return whether executing this instruction may cause a garbage
+	 *         collection in the target
+	 */
+	public boolean mayTriggerGarbageCollection() {
+		return false;
+	}
+
 	protected IRuntimeContext getContext() {
-		return fInterpreter.getContext();
+		return fgInterpreter.get().getContext();
 	}
 
 	protected IJavaDebugTarget getVM() {
@@ -72,7 +106,7 @@ public abstract class Instruction {
 	 * @see Interpreter#getInternalVariable(String)
 	 */
 	protected IVariable getInternalVariable(String name) {
-		return fInterpreter.getInternalVariable(name);
+		return fgInterpreter.get().getInternalVariable(name);
 	}
 
 	/**
@@ -82,7 +116,7 @@ public abstract class Instruction {
 	 */
 	protected IVariable createInternalVariable(String name,
 			IJavaType referencType) {
-		return fInterpreter.createInternalVariable(name, referencType);
+		return fgInterpreter.get().createInternalVariable(name, referencType);
 	}
 
 	/**
@@ -96,19 +130,19 @@ public abstract class Instruction {
 	}
 
 	protected void jump(int offset) {
-		fInterpreter.jump(offset);
+		fgInterpreter.get().jump(offset);
 	}
 
 	protected void push(Object object) {
-		fInterpreter.push(object);
+		fgInterpreter.get().push(object);
 	}
 
 	protected Object pop() {
-		return fInterpreter.pop();
+		return fgInterpreter.get().pop();
 	}
 
 	protected IJavaValue popValue() throws CoreException {
-		Object element = fInterpreter.pop();
+		Object element = fgInterpreter.get().pop();
 		if (element instanceof IJavaVariable) {
 			return (IJavaValue) ((IJavaVariable) element).getValue();
 		}
@@ -116,7 +150,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(boolean value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(boolean value) {
@@ -124,7 +158,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(byte value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(byte value) {
@@ -132,7 +166,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(short value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(short value) {
@@ -140,7 +174,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(int value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(int value) {
@@ -148,7 +182,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(long value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(long value) {
@@ -156,7 +190,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(char value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(char value) {
@@ -164,7 +198,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(float value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(float value) {
@@ -172,7 +206,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(double value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(double value) {
@@ -180,7 +214,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNewValue(String value) {
-		fInterpreter.push(newValue(value));
+		fgInterpreter.get().push(newValue(value));
 	}
 
 	protected IJavaValue newValue(String value) {
@@ -188,7 +222,7 @@ public abstract class Instruction {
 	}
 
 	protected void pushNullValue() {
-		fInterpreter.push(nullValue());
+		fgInterpreter.get().push(nullValue());
 	}
 
 	protected IJavaValue nullValue() {
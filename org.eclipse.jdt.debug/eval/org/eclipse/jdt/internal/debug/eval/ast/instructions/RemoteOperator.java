@@ -44,6 +44,11 @@ public class RemoteOperator extends CompoundInstruction {
 		push(result);
 	}
 
+	@Override
+	public boolean mayTriggerGarbageCollection() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return InstructionsEvaluationMessages.Run_Remote_1
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -93,36 +93,202 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 	@Override
 	public List<Value> getValues(int firstIndex, int length)
 			throws IndexOutOfBoundsException {
+		length = checkValuesRange(firstIndex, length);
 
-		int arrayLength = length();
-
-		if (firstIndex < 0 || firstIndex >= arrayLength) {
-			throw new IndexOutOfBoundsException(
-					JDIMessages.ArrayReferenceImpl_Invalid_index_1);
+		// Note that this information should not be cached.
+		initJdwpRequest();
+		try {
+			JdwpReplyPacket replyPacket = requestVM(
+					JdwpCommandPacket.AR_GET_VALUES, valuesRequestData(firstIndex, length));
+			return readValues(replyPacket);
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
 		}
+	}
 
-		if (length == -1) {
-			// length == -1 means all elements to the end.
-			length = arrayLength - firstIndex;
-		} else if (length < -1) {
-			throw new IndexOutOfBoundsException(
-					JDIMessages.ArrayReferenceImpl_Invalid_number_of_value_to_get_from_array_1);
-		} else if (firstIndex + length > arrayLength) {
-			throw new IndexOutOfBoundsException(
-					JDIMessages.ArrayReferenceImpl_Attempted_to_get_more_values_from_array_than_length_of_array_2);
+	/**
+	 * Gets the values of several ranges of this array. The requests for all
+	 * ranges are sent before any reply is awaited, so this costs about one
+	 * round trip instead of one per range.
+	 *
+	 * @param firstIndices the start of each range
+	 * @param lengths the number of values of each range, or -1 for all values to the end
+	 * @return the list of {@link Value}s of each range, in the order of the given ranges
+	 * @throws IndexOutOfBoundsException if a range is outside the bounds of the array
+	 */
+	public List<List<Value>> getValues(int[] firstIndices, int[] lengths)
+			throws IndexOutOfBoundsException {
+		List<byte[]> requests = new ArrayList<>(firstIndices.length);
+		for (int i = 0; i < firstIndices.length; i++) {
+			int length = checkValuesRange(firstIndices[i], lengths[i]);
+			requests.add(valuesRequestData(firstIndices[i], length));
 		}
 
 		// Note that this information should not be cached.
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
-			write(this, outData); // arrayObject
-			writeInt(firstIndex, "firstIndex", outData); //$NON-NLS-1$
-			writeInt(length, "length", outData); //$NON-NLS-1$
+			List<List<Value>> result = new ArrayList<>(requests.size());
+			for (JdwpReplyPacket replyPacket : requestVMBatch(JdwpCommandPacket.AR_GET_VALUES, requests)) {
+				result.add(readValues(replyPacket));
+			}
+			return result;
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>boolean</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public boolean[] getBooleans(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (boolean[]) getPrimitiveValues(firstIndex, length, BooleanValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>byte</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public byte[] getBytes(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (byte[]) getPrimitiveValues(firstIndex, length, ByteValueImpl.tag);
+	}
 
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>char</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public char[] getChars(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (char[]) getPrimitiveValues(firstIndex, length, CharValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>short</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public short[] getShorts(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (short[]) getPrimitiveValues(firstIndex, length, ShortValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of an <code>int</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public int[] getInts(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (int[]) getPrimitiveValues(firstIndex, length, IntegerValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>long</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public long[] getLongs(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (long[]) getPrimitiveValues(firstIndex, length, LongValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>float</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public float[] getFloats(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (float[]) getPrimitiveValues(firstIndex, length, FloatValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * of a <code>double</code> array.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public double[] getDoubles(int firstIndex, int length) throws IndexOutOfBoundsException {
+		return (double[]) getPrimitiveValues(firstIndex, length, DoubleValueImpl.tag);
+	}
+
+	/**
+	 * Gets the values starting at firstIndex and ending at firstIndex+length
+	 * as an array of the primitive component type of this array, such as an
+	 * <code>int[]</code> for an <code>int</code> array. The values are decoded
+	 * from the reply directly, without creating a {@link Value} per element.
+	 *
+	 * @param firstIndex the start
+	 * @param length the number of values to return, or -1 for all values to the end
+	 * @return the values, or <code>null</code> if the component type of this
+	 *         array is not primitive
+	 * @throws IndexOutOfBoundsException if the index is outside the bounds of the array
+	 */
+	public Object getPrimitiveValues(int firstIndex, int length) throws IndexOutOfBoundsException {
+		byte componentTag = (byte) ((ArrayTypeImpl) referenceType()).componentSignature().charAt(0);
+		switch (componentTag) {
+		case BooleanValueImpl.tag:
+		case ByteValueImpl.tag:
+		case CharValueImpl.tag:
+		case DoubleValueImpl.tag:
+		case FloatValueImpl.tag:
+		case IntegerValueImpl.tag:
+		case LongValueImpl.tag:
+		case ShortValueImpl.tag:
+			return getPrimitiveValues(firstIndex, length, componentTag);
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the given range of values of an array with the given primitive
+	 * component type.
+	 */
+	private Object getPrimitiveValues(int firstIndex, int length, byte componentTag)
+			throws IndexOutOfBoundsException {
+		length = checkValuesRange(firstIndex, length);
+
+		// Note that this information should not be cached.
+		initJdwpRequest();
+		try {
 			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.AR_GET_VALUES, outBytes);
+					JdwpCommandPacket.AR_GET_VALUES, valuesRequestData(firstIndex, length));
 			switch (replyPacket.errorCode()) {
 			case JdwpReplyPacket.INVALID_INDEX:
 				throw new IndexOutOfBoundsException(
@@ -131,46 +297,14 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 			defaultReplyErrorHandler(replyPacket.errorCode());
 
 			DataInputStream replyData = replyPacket.dataInStream();
-
-			/*
-			 * NOTE: The JDWP documentation is not clear on this: it turns out
-			 * that the following is received from the VM: - type tag; - length
-			 * of array; - values of elements.
-			 */
-
 			int type = readByte("type", JdwpID.tagMap(), replyData); //$NON-NLS-1$
 			int readLength = readInt("length", replyData); //$NON-NLS-1$
-			// See also ValueImpl.
-			switch (type) {
-			// Multidimensional array.
-			case ArrayReferenceImpl.tag:
-				// Object references.
-			case ClassLoaderReferenceImpl.tag:
-			case ClassObjectReferenceImpl.tag:
-			case StringReferenceImpl.tag:
-			case ObjectReferenceImpl.tag:
-			case ThreadGroupReferenceImpl.tag:
-			case ThreadReferenceImpl.tag:
-				return readObjectSequence(readLength, replyData);
-
-				// Primitive type.
-			case BooleanValueImpl.tag:
-			case ByteValueImpl.tag:
-			case CharValueImpl.tag:
-			case DoubleValueImpl.tag:
-			case FloatValueImpl.tag:
-			case IntegerValueImpl.tag:
-			case LongValueImpl.tag:
-			case ShortValueImpl.tag:
-				return readPrimitiveSequence(readLength, type, replyData);
-
-			case VoidValueImpl.tag:
-			case 0:
-			default:
+			if (type != componentTag) {
 				throw new InternalException(
 						JDIMessages.ArrayReferenceImpl_Invalid_ArrayReference_Value_tag_encountered___2
 								+ type);
 			}
+			return readPrimitiveArray(readLength, componentTag, replyData);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return null;
@@ -179,6 +313,170 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 		}
 	}
 
+	/**
+	 * Reads the given number of untagged primitive values of the given type
+	 * into an array of that type.
+	 */
+	private static Object readPrimitiveArray(int length, byte type, DataInputStream in)
+			throws IOException {
+		switch (type) {
+		case BooleanValueImpl.tag:
+			boolean[] booleans = new boolean[length];
+			for (int i = 0; i < length; i++) {
+				booleans[i] = in.readBoolean();
+			}
+			return booleans;
+		case ByteValueImpl.tag:
+			byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			return bytes;
+		case CharValueImpl.tag:
+			char[] chars = new char[length];
+			for (int i = 0; i < length; i++) {
+				chars[i] = in.readChar();
+			}
+			return chars;
+		case DoubleValueImpl.tag:
+			double[] doubles = new double[length];
+			for (int i = 0; i < length; i++) {
+				doubles[i] = in.readDouble();
+			}
+			return doubles;
+		case FloatValueImpl.tag:
+			float[] floats = new float[length];
+			for (int i = 0; i < length; i++) {
+				floats[i] = in.readFloat();
+			}
+			return floats;
+		case IntegerValueImpl.tag:
+			int[] ints = new int[length];
+			for (int i = 0; i < length; i++) {
+				ints[i] = in.readInt();
+			}
+			return ints;
+		case LongValueImpl.tag:
+			long[] longs = new long[length];
+			for (int i = 0; i < length; i++) {
+				longs[i] = in.readLong();
+			}
+			return longs;
+		case ShortValueImpl.tag:
+			short[] shorts = new short[length];
+			for (int i = 0; i < length; i++) {
+				shorts[i] = in.readShort();
+			}
+			return shorts;
+		default:
+			throw new InternalException(
+					JDIMessages.ArrayReferenceImpl_Invalid_ArrayReference_Value_tag_encountered___2
+							+ type);
+		}
+	}
+
+	/**
+	 * Checks the given range against the bounds of this array.
+	 *
+	 * @return the number of values in the range
+	 * @throws IndexOutOfBoundsException if the range is outside the bounds of the array
+	 */
+	private int checkValuesRange(int firstIndex, int length)
+			throws IndexOutOfBoundsException {
+		int arrayLength = length();
+
+		if (firstIndex < 0 || firstIndex >= arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_index_1);
+		}
+
+		if (length == -1) {
+			// length == -1 means all elements to the end.
+			length = arrayLength - firstIndex;
+		} else if (length < -1) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_number_of_value_to_get_from_array_1);
+		} else if (firstIndex + length > arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_get_more_values_from_array_than_length_of_array_2);
+		}
+		return length;
+	}
+
+	/**
+	 * @return Returns the data of an {@link JdwpCommandPacket#AR_GET_VALUES}
+	 *         request for the given range.
+	 */
+	private byte[] valuesRequestData(int firstIndex, int length) {
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData); // arrayObject
+			writeInt(firstIndex, "firstIndex", outData); //$NON-NLS-1$
+			writeInt(length, "length", outData); //$NON-NLS-1$
+			return outBytes.toByteArray();
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the values of an {@link JdwpCommandPacket#AR_GET_VALUES} reply.
+	 *
+	 * @param replyPacket the reply
+	 * @return the list of {@link Value}s
+	 * @throws IOException if the reading fails
+	 */
+	private List<Value> readValues(JdwpReplyPacket replyPacket) throws IOException {
+		switch (replyPacket.errorCode()) {
+		case JdwpReplyPacket.INVALID_INDEX:
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_index_of_array_reference_given_1);
+		}
+		defaultReplyErrorHandler(replyPacket.errorCode());
+
+		DataInputStream replyData = replyPacket.dataInStream();
+
+		/*
+		 * NOTE: The JDWP documentation is not clear on this: it turns out
+		 * that the following is received from the VM: - type tag; - length
+		 * of array; - values of elements.
+		 */
+
+		int type = readByte("type", JdwpID.tagMap(), replyData); //$NON-NLS-1$
+		int readLength = readInt("length", replyData); //$NON-NLS-1$
+		// See also ValueImpl.
+		switch (type) {
+		// Multidimensional array.
+		case ArrayReferenceImpl.tag:
+			// Object references.
+		case ClassLoaderReferenceImpl.tag:
+		case ClassObjectReferenceImpl.tag:
+		case StringReferenceImpl.tag:
+		case ObjectReferenceImpl.tag:
+		case ThreadGroupReferenceImpl.tag:
+		case ThreadReferenceImpl.tag:
+			return readObjectSequence(readLength, replyData);
+
+			// Primitive type.
+		case BooleanValueImpl.tag:
+		case ByteValueImpl.tag:
+		case CharValueImpl.tag:
+		case DoubleValueImpl.tag:
+		case FloatValueImpl.tag:
+		case IntegerValueImpl.tag:
+		case LongValueImpl.tag:
+		case ShortValueImpl.tag:
+			return readPrimitiveSequence(readLength, type, replyData);
+
+		case VoidValueImpl.tag:
+		case 0:
+		default:
+			throw new InternalException(
+					JDIMessages.ArrayReferenceImpl_Invalid_ArrayReference_Value_tag_encountered___2
+							+ type);
+		}
+	}
+
 	/**
 	 * Reads the given length of objects from the given stream
 	 * @param length the number of objects to read
@@ -380,6 +678,67 @@ public class ArrayReferenceImpl extends ObjectReferenceImpl implements
 		}
 	}
 
+	/**
+	 * Replaces a range of components of a <code>byte</code> array with the
+	 * given bytes. The bytes are written to the request directly, without
+	 * creating a {@link Value} per element.
+	 *
+	 * @param index
+	 *            offset in this array to start replacing values at
+	 * @param values
+	 *            replacement values, all of which are set
+	 * @throws InvalidTypeException
+	 *             thrown if this is not a <code>byte</code> array
+	 * @throws ClassNotLoadedException
+	 *             thrown if the class type for the {@link ArrayReference} is
+	 *             not loaded or has been GC'd
+	 * @see #setValues(int, List, int, int)
+	 */
+	public void setBytes(int index, byte[] values) throws InvalidTypeException,
+			ClassNotLoadedException {
+		if (values == null || values.length == 0) {
+			// trying to set nothing should do no work
+			return;
+		}
+		if (((ArrayTypeImpl) referenceType()).componentSignature().charAt(0) != ByteValueImpl.tag) {
+			throw new InvalidTypeException();
+		}
+		int arrayLength = length();
+		if (index < 0 || index >= arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Invalid_index_1);
+		}
+		if (index + values.length > arrayLength) {
+			throw new IndexOutOfBoundsException(
+					JDIMessages.ArrayReferenceImpl_Attempted_to_set_more_values_in_array_than_length_of_array_3);
+		}
+
+		initJdwpRequest();
+		try {
+			ByteArrayOutputStream outBytes = new ByteArrayOutputStream(values.length + 32);
+			DataOutputStream outData = new DataOutputStream(outBytes);
+			write(this, outData);
+			writeInt(index, "index", outData); //$NON-NLS-1$
+			writeInt(values.length, "length", outData); //$NON-NLS-1$
+			// untagged byte values are one byte each
+			outData.write(values);
+
+			JdwpReplyPacket replyPacket = requestVM(
+					JdwpCommandPacket.AR_SET_VALUES, outBytes);
+			switch (replyPacket.errorCode()) {
+			case JdwpReplyPacket.TYPE_MISMATCH:
+				throw new InvalidTypeException();
+			case JdwpReplyPacket.INVALID_CLASS:
+				throw new ClassNotLoadedException(type().name());
+			}
+			defaultReplyErrorHandler(replyPacket.errorCode());
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Check the type and the VM of the values. If the given type is a primitive
 	 * type, the values may be converted to match this type.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -156,12 +156,43 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 
 		initJdwpRequest();
 		try {
-			ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
-			DataOutputStream outData = new DataOutputStream(outBytes);
+			JdwpReplyPacket replyPacket = requestVM(
+					JdwpCommandPacket.M_LINE_TABLE, lineTableRequestData());
+			readLineTable(replyPacket);
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * @return Returns whether the line table of this method still has to be
+	 *         retrieved from the VM.
+	 */
+	protected boolean needsLineTable() {
+		return fCodeIndexToLine == null && !isAbstract() && !isNative() && !isObsolete();
+	}
+
+	/**
+	 * @return Returns the data of the <code>M_LINE_TABLE</code> request for
+	 *         this method.
+	 */
+	protected byte[] lineTableRequestData() {
+		ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+		DataOutputStream outData = new DataOutputStream(outBytes);
+		try {
 			writeWithReferenceType(this, outData);
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+		}
+		return outBytes.toByteArray();
+	}
 
-			JdwpReplyPacket replyPacket = requestVM(
-					JdwpCommandPacket.M_LINE_TABLE, outBytes);
+	/**
+	 * Stores the line table of this method from the reply to an
+	 * <code>M_LINE_TABLE</code> request.
+	 */
+	protected void readLineTable(JdwpReplyPacket replyPacket) throws AbsentInformationException {
+		try {
 			switch (replyPacket.errorCode()) {
 			case JdwpReplyPacket.ABSENT_INFORMATION:
 				throw new AbsentInformationException(
@@ -207,11 +238,21 @@ public class MethodImpl extends TypeComponentImpl implements Method, Locatable {
 			fCodeIndexToLine = null;
 			fLineToCodeIndexes = null;
 			defaultIOExceptionHandler(e);
-		} finally {
-			handledJdwpRequest();
 		}
 	}
 
+	/**
+	 * @return Returns the Java stratum line numbers of this method that have
+	 *         code, or an empty set if the line table is not available.
+	 */
+	protected Set<Integer> javaStratumLines() throws AbsentInformationException {
+		if (isAbstract() || isNative() || isObsolete()) {
+			return Collections.emptySet();
+		}
+		getLineTable();
+		return fLineToCodeIndexes.keySet();
+	}
+
 	/**
 	 * @return Returns the line number that corresponds to the given
 	 *         lineCodeIndex.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,11 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.TimeoutException;
@@ -205,19 +209,18 @@ public class MirrorImpl implements Mirror {
 
 		JdwpReplyPacket reply = fVirtualMachineImpl.packetReceiveManager()
 				.getReply(commandPacket);
-		long recieved = System.currentTimeMillis();
 		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
-			StringBuilder buf = new StringBuilder();
-			buf.append(JDIDebugOptions.FORMAT.format(Instant.ofEpochMilli(sent)));
-			buf.append(" JDI Request: "); //$NON-NLS-1$
-			buf.append(commandPacket.toString());
-			buf.append("\n\tResponse Time: "); //$NON-NLS-1$
-			buf.append(recieved - sent);
-			buf.append("ms"); //$NON-NLS-1$
-			buf.append(" length: "); //$NON-NLS-1$
-			buf.append(reply.getLength());
-			JDIDebugOptions.trace(buf.toString());
+			traceRequestTime(commandPacket, reply, sent);
 		}
+		writeVerboseReplyPacket(reply);
+
+		return reply;
+	}
+
+	/**
+	 * Writes reply packet header if verbose is on.
+	 */
+	private void writeVerboseReplyPacket(JdwpReplyPacket reply) {
 		if (fVerboseWriter != null) {
 			fVerboseWriter.println();
 			fVerboseWriter.println("Received reply"); //$NON-NLS-1$
@@ -229,10 +232,106 @@ public class MirrorImpl implements Mirror {
 					.println(
 							"error code", reply.errorCode(), JdwpReplyPacket.errorMap()); //$NON-NLS-1$
 		}
+	}
 
+	/**
+	 * Traces the round trip time of the given request.
+	 */
+	private static void traceRequestTime(JdwpCommandPacket commandPacket, JdwpReplyPacket reply, long sent) {
+		long recieved = System.currentTimeMillis();
+		StringBuilder buf = new StringBuilder();
+		buf.append(JDIDebugOptions.FORMAT.format(Instant.ofEpochMilli(sent)));
+		buf.append(" JDI Request: "); //$NON-NLS-1$
+		buf.append(commandPacket.toString());
+		buf.append("\n\tResponse Time: "); //$NON-NLS-1$
+		buf.append(recieved - sent);
+		buf.append("ms"); //$NON-NLS-1$
+		buf.append(" length: "); //$NON-NLS-1$
+		buf.append(reply.getLength());
+		JDIDebugOptions.trace(buf.toString());
+	}
+
+	/**
+	 * Performs a VM request without waiting for the reply. Any number of
+	 * asynchronous requests may be in flight at the same time; their replies
+	 * are matched to the returned futures as they arrive.
+	 * <p>
+	 * The returned future is completed on the packet receiving thread, so
+	 * dependent actions must not perform blocking VM requests themselves. If
+	 * verbose is on, the reply packet header is written when the reply
+	 * arrives. Use
+	 * {@link #awaitReply(CompletableFuture)} to wait for the reply with the
+	 * same exception semantics as {@link #requestVM(int, byte[])}.
+	 * </p>
+	 *
+	 * @return Returns future reply data.
+	 */
+	public CompletableFuture<JdwpReplyPacket> requestVMAsync(int command, byte[] outData) {
+		JdwpCommandPacket commandPacket = new JdwpCommandPacket(command);
+		commandPacket.setData(outData);
+		long sent = System.currentTimeMillis();
+		CompletableFuture<JdwpReplyPacket> reply = fVirtualMachineImpl.packetReceiveManager().getReplyAsync(commandPacket);
+		try {
+			fVirtualMachineImpl.packetSendManager().sendPacket(commandPacket);
+		} catch (VMDisconnectedException e) {
+			fVirtualMachineImpl.packetReceiveManager().cancelReplyAsync(commandPacket);
+			reply.completeExceptionally(e);
+			return reply;
+		}
+		fPendingJdwpRequest = true;
+		writeVerboseCommandPacketHeader(commandPacket);
+		if (JDIDebugOptions.DEBUG_JDI_REQUEST_TIMES) {
+			reply.thenAccept(replyPacket -> traceRequestTime(commandPacket, replyPacket, sent));
+		}
+		if (fVerboseWriter != null) {
+			reply.thenAccept(this::writeVerboseReplyPacket);
+		}
 		return reply;
 	}
 
+	/**
+	 * Performs a batch of VM requests of the same command. All requests are
+	 * sent before any reply is awaited, so the whole batch costs about one
+	 * round trip instead of one per request.
+	 *
+	 * @param command
+	 *            the command to send
+	 * @param outData
+	 *            the data of each request
+	 * @return Returns reply data, in the order of the given request data.
+	 */
+	public List<JdwpReplyPacket> requestVMBatch(int command, List<byte[]> outData) {
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(outData.size());
+		for (byte[] data : outData) {
+			replies.add(requestVMAsync(command, data));
+		}
+		List<JdwpReplyPacket> result = new ArrayList<>(replies.size());
+		for (CompletableFuture<JdwpReplyPacket> reply : replies) {
+			result.add(awaitReply(reply));
+		}
+		return result;
+	}
+
+	/**
+	 * Waits for the reply of an asynchronous VM request.
+	 *
+	 * @return Returns reply data.
+	 * @exception org.eclipse.jdi.TimeoutException
+	 *                if the reply did not arrive within the request timeout
+	 * @exception VMDisconnectedException
+	 *                if the connection to the VM was lost
+	 */
+	public static JdwpReplyPacket awaitReply(CompletableFuture<JdwpReplyPacket> reply) {
+		try {
+			return reply.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * Performs a VM request.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -121,6 +121,104 @@ public class ObjectReferenceImpl extends ValueImpl implements ObjectReference {
 		}
 	}
 
+	/**
+	 * Prevents garbage collection for each of the given objects. The requests
+	 * for all objects are sent before any reply is awaited, so this costs
+	 * about one round trip instead of one per object.
+	 * <p>
+	 * Garbage collection is prevented for either all or none of the objects:
+	 * if any request fails, collection is permitted again for the objects it
+	 * was already prevented for before the failure is reported.
+	 * </p>
+	 *
+	 * @param vm
+	 *            the Virtual Machine of the objects
+	 * @param objects
+	 *            the objects to prevent garbage collection for
+	 */
+	public static void disableCollection(VirtualMachineImpl vm, List<? extends ObjectReference> objects) {
+		List<ObjectReference> disabled = new ArrayList<>(objects.size());
+		try {
+			setCollection(vm, JdwpCommandPacket.OR_DISABLE_COLLECTION, objects, disabled);
+		} catch (VMDisconnectedException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			if (!disabled.isEmpty()) {
+				try {
+					enableCollection(vm, disabled);
+				} catch (RuntimeException e2) {
+					// report the original failure
+				}
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Permits garbage collection for each of the given objects. The requests
+	 * for all objects are sent before any reply is awaited. Objects that have
+	 * already been collected are ignored.
+	 *
+	 * @param vm
+	 *            the Virtual Machine of the objects
+	 * @param objects
+	 *            the objects to permit garbage collection for
+	 */
+	public static void enableCollection(VirtualMachineImpl vm, List<? extends ObjectReference> objects) {
+		setCollection(vm, JdwpCommandPacket.OR_ENABLE_COLLECTION, objects, null);
+	}
+
+	/**
+	 * Sends the given collection command for each of the given objects as one
+	 * batch, collecting the objects the command may have been applied to
+	 * into the given list, if any. All replies are examined before the first
+	 * error is reported.
+	 */
+	private static void setCollection(VirtualMachineImpl vm, int command, List<? extends ObjectReference> objects, List<ObjectReference> applied) {
+		if (objects.isEmpty()) {
+			return;
+		}
+		vm.initJdwpRequest();
+		try {
+			List<byte[]> data = new ArrayList<>(objects.size());
+			for (ObjectReference object : objects) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream outData = new DataOutputStream(outBytes);
+				((ObjectReferenceImpl) object).write(vm, outData);
+				data.add(outBytes.toByteArray());
+			}
+			List<JdwpReplyPacket> replies;
+			try {
+				replies = vm.requestVMBatch(command, data);
+			} catch (RuntimeException e) {
+				// replies that were not awaited may still be applied
+				if (applied != null) {
+					applied.addAll(objects);
+				}
+				throw e;
+			}
+			int error = JdwpReplyPacket.NONE;
+			for (int i = 0; i < replies.size(); i++) {
+				int errorCode = replies.get(i).errorCode();
+				if (errorCode == JdwpReplyPacket.NONE) {
+					if (applied != null) {
+						applied.add(objects.get(i));
+					}
+				} else if (command == JdwpCommandPacket.OR_ENABLE_COLLECTION
+						&& errorCode == JdwpReplyPacket.INVALID_OBJECT) {
+					// nothing to permit for collected objects
+				} else if (error == JdwpReplyPacket.NONE) {
+					error = errorCode;
+				}
+			}
+			vm.defaultReplyErrorHandler(error);
+		} catch (IOException e) {
+			vm.defaultIOExceptionHandler(e);
+		} finally {
+			vm.handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Inner class used to return monitor info.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
 import org.eclipse.jdi.internal.jdwp.JdwpFieldID;
@@ -358,6 +359,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	private List<Field> fVisibleFields = null;
 	private List<InterfaceType> fAllInterfaces = null;
 	private Map<String, Map<String, List<Location>>> fStratumAllLineLocations = null;
+	private Map<Integer, List<Location>> fJavaStratumLineLocations = null;
 	private String fSourceName = null;
 	private int fModifierBits = -1;
 	private ClassLoaderReferenceImpl fClassLoader = null;
@@ -443,6 +445,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		fVisibleFields = null;
 		fAllInterfaces = null;
 		fStratumAllLineLocations = null;
+		fJavaStratumLineLocations = null;
 		fSourceName = null;
 		fModifierBits = -1;
 		fClassLoader = null;
@@ -1613,6 +1616,7 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 			allLineLocations = sourceNameAllLineLocations.get(sourceName);
 		}
 		if (allLineLocations == null) { // the line locations are not known, compute and store them
+			prefetchLineTables();
 			allLineLocations = new ArrayList<>();
 			boolean hasLineInformation = false;
 			AbsentInformationException exception = null;
@@ -1641,6 +1645,11 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 	 */
 	@Override
 	public List<Location> locationsOfLine(String stratum, String sourceName, int lineNumber) throws AbsentInformationException {
+		if (getStratum(stratum) == null) { // Java stratum, look up the line index
+			List<Location> locations = javaStratumLineLocations().get(Integer.valueOf(lineNumber));
+			return locations == null ? new ArrayList<>() : new ArrayList<>(locations);
+		}
+		prefetchLineTables();
 		Iterator<Method> allMethods = methods().iterator();
 		List<Location> locations = new ArrayList<>();
 		boolean hasLineInformation = false;
@@ -1666,6 +1675,75 @@ public abstract class ReferenceTypeImpl extends TypeImpl implements
 		return locations;
 	}
 
+	/**
+	 * Retrieves the line tables of all methods of this type that do not have
+	 * them yet. The requests are sent together, so this costs about one round
+	 * trip instead of one per method.
+	 */
+	public void prefetchLineTables() {
+		List<MethodImpl> methods = new ArrayList<>();
+		for (Method method : methods()) {
+			if (((MethodImpl) method).needsLineTable()) {
+				methods.add((MethodImpl) method);
+			}
+		}
+		if (methods.isEmpty()) {
+			return;
+		}
+		initJdwpRequest();
+		try {
+			List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(methods.size());
+			for (MethodImpl method : methods) {
+				replies.add(requestVMAsync(JdwpCommandPacket.M_LINE_TABLE, method.lineTableRequestData()));
+			}
+			for (int i = 0; i < methods.size(); i++) {
+				try {
+					methods.get(i).readLineTable(awaitReply(replies.get(i)));
+				} catch (AbsentInformationException e) {
+					// reported when the line table of the method is used
+				}
+			}
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * @return Returns the index from Java stratum line numbers to the
+	 *         locations of the line in all methods of this type.
+	 */
+	private Map<Integer, List<Location>> javaStratumLineLocations() throws AbsentInformationException {
+		if (fJavaStratumLineLocations != null) {
+			return fJavaStratumLineLocations;
+		}
+		prefetchLineTables();
+		Map<Integer, List<Location>> lineLocations = new HashMap<>();
+		boolean hasLineInformation = false;
+		AbsentInformationException exception = null;
+		for (Method m : methods()) {
+			MethodImpl method = (MethodImpl) m;
+			if (method.isAbstract() || method.isNative()) {
+				continue;
+			}
+			try {
+				for (Integer line : method.javaStratumLines()) {
+					List<Location> locations = method.javaStratumLocationsOfLines(Collections.singletonList(line));
+					if (!locations.isEmpty()) {
+						lineLocations.computeIfAbsent(line, l -> new ArrayList<>()).addAll(locations);
+					}
+				}
+				hasLineInformation = true;
+			} catch (AbsentInformationException e) {
+				exception = e;
+			}
+		}
+		if (!hasLineInformation && exception != null) {
+			throw exception;
+		}
+		fJavaStratumLineLocations = lineLocations;
+		return lineLocations;
+	}
+
 	/* (non-Javadoc)
 	 * @see com.sun.jdi.ReferenceType#availableStrata()
 	 */
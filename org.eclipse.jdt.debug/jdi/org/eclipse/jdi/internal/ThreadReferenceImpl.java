@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdi.OpaqueFrameException;
 import org.eclipse.jdi.internal.jdwp.JdwpCommandPacket;
@@ -544,23 +545,7 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 			int threadStatus = readInt(
 					"thread status", threadStatusMap(), replyData); //$NON-NLS-1$
 			readInt("suspend status", suspendStatusStrings(), replyData); //$NON-NLS-1$
-			switch (threadStatus) {
-			case JDWP_THREAD_STATUS_ZOMBIE:
-				return THREAD_STATUS_ZOMBIE;
-			case JDWP_THREAD_STATUS_RUNNING:
-				return THREAD_STATUS_RUNNING;
-			case JDWP_THREAD_STATUS_SLEEPING:
-				return THREAD_STATUS_SLEEPING;
-			case JDWP_THREAD_STATUS_MONITOR:
-				return THREAD_STATUS_MONITOR;
-			case JDWP_THREAD_STATUS_WAIT:
-				return THREAD_STATUS_WAIT;
-			case -1: // see bug 30816
-				return THREAD_STATUS_UNKNOWN;
-			}
-			throw new InternalException(
-					JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
-							+ threadStatus);
+			return threadStatus(threadStatus);
 		} catch (IOException e) {
 			defaultIOExceptionHandler(e);
 			return 0;
@@ -569,6 +554,29 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * @return Returns the JDI thread status of the given JDWP thread status.
+	 */
+	private static int threadStatus(int jdwpThreadStatus) {
+		switch (jdwpThreadStatus) {
+		case JDWP_THREAD_STATUS_ZOMBIE:
+			return THREAD_STATUS_ZOMBIE;
+		case JDWP_THREAD_STATUS_RUNNING:
+			return THREAD_STATUS_RUNNING;
+		case JDWP_THREAD_STATUS_SLEEPING:
+			return THREAD_STATUS_SLEEPING;
+		case JDWP_THREAD_STATUS_MONITOR:
+			return THREAD_STATUS_MONITOR;
+		case JDWP_THREAD_STATUS_WAIT:
+			return THREAD_STATUS_WAIT;
+		case -1: // see bug 30816
+			return THREAD_STATUS_UNKNOWN;
+		}
+		throw new InternalException(
+				JDIMessages.ThreadReferenceImpl_Unknown_thread_status_received___6
+						+ jdwpThreadStatus);
+	}
+
 	/**
 	 * Stops this thread with an asynchronous exception.
 	 *
@@ -674,6 +682,201 @@ public class ThreadReferenceImpl extends ObjectReferenceImpl implements	ThreadRe
 		}
 	}
 
+	/**
+	 * A snapshot of the state of a thread, as returned by
+	 * {@link ThreadReferenceImpl#states(VirtualMachineImpl, List)}.
+	 */
+	public static class State {
+		private final ThreadReferenceImpl fThread;
+		private final int fStatus;
+		private final boolean fSuspended;
+		private final int fSuspendCount;
+		private final String fName;
+		private final ThreadGroupReference fThreadGroup;
+
+		State(ThreadReferenceImpl thread, int status, boolean suspended, int suspendCount, String name, ThreadGroupReference threadGroup) {
+			fThread = thread;
+			fStatus = status;
+			fSuspended = suspended;
+			fSuspendCount = suspendCount;
+			fName = name;
+			fThreadGroup = threadGroup;
+		}
+
+		/**
+		 * @return Returns the thread this is the state of.
+		 */
+		public ThreadReferenceImpl thread() {
+			return fThread;
+		}
+
+		/**
+		 * @return Returns the thread's status, see {@link ThreadReference#status()}.
+		 */
+		public int status() {
+			return fStatus;
+		}
+
+		/**
+		 * @return Returns whether the thread was suspended.
+		 */
+		public boolean isSuspended() {
+			return fSuspended;
+		}
+
+		/**
+		 * @return Returns the number of pending suspends for the thread.
+		 */
+		public int suspendCount() {
+			return fSuspendCount;
+		}
+
+		/**
+		 * @return Returns the thread's name.
+		 */
+		public String name() {
+			return fName;
+		}
+
+		/**
+		 * @return Returns the thread's thread group.
+		 */
+		public ThreadGroupReference threadGroup() {
+			return fThreadGroup;
+		}
+	}
+
+	/**
+	 * Gets a snapshot of the status, suspend count, name and thread group of
+	 * each of the given threads. The requests for all threads are sent before
+	 * any reply is awaited, so this costs about one round trip instead of
+	 * several per thread.
+	 *
+	 * @param vm
+	 *            the Virtual Machine of the threads
+	 * @param threads
+	 *            the threads to get the state of
+	 * @return Returns the state of each thread, in the order of the given
+	 *         threads, or <code>null</code> for threads that have been
+	 *         collected
+	 */
+	public static List<State> states(VirtualMachineImpl vm, List<? extends ThreadReference> threads) {
+		int count = threads.size();
+		List<CompletableFuture<JdwpReplyPacket>> statusReplies = new ArrayList<>(count);
+		List<CompletableFuture<JdwpReplyPacket>> suspendCountReplies = new ArrayList<>(count);
+		List<CompletableFuture<JdwpReplyPacket>> nameReplies = new ArrayList<>(count);
+		List<CompletableFuture<JdwpReplyPacket>> threadGroupReplies = new ArrayList<>(count);
+		vm.initJdwpRequest();
+		try {
+			for (ThreadReference thread : threads) {
+				ThreadReferenceImpl threadImpl = (ThreadReferenceImpl) thread;
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream outData = new DataOutputStream(outBytes);
+				threadImpl.write(vm, outData);
+				byte[] data = outBytes.toByteArray();
+				statusReplies.add(vm.requestVMAsync(JdwpCommandPacket.TR_STATUS, data));
+				suspendCountReplies.add(vm.requestVMAsync(JdwpCommandPacket.TR_SUSPEND_COUNT, data));
+				nameReplies.add(vm.requestVMAsync(JdwpCommandPacket.TR_NAME, data));
+				threadGroupReplies.add(threadImpl.fThreadGroup == null ? vm.requestVMAsync(JdwpCommandPacket.TR_THREAD_GROUP, data) : null);
+			}
+
+			List<State> states = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				ThreadReferenceImpl thread = (ThreadReferenceImpl) threads.get(i);
+				JdwpReplyPacket statusReply = awaitReply(statusReplies.get(i));
+				JdwpReplyPacket suspendCountReply = awaitReply(suspendCountReplies.get(i));
+				JdwpReplyPacket nameReply = awaitReply(nameReplies.get(i));
+				JdwpReplyPacket threadGroupReply = threadGroupReplies.get(i) == null ? null : awaitReply(threadGroupReplies.get(i));
+				if (isCollected(statusReply) || isCollected(suspendCountReply) || isCollected(nameReply)
+						|| (threadGroupReply != null && isCollected(threadGroupReply))) {
+					states.add(null);
+					continue;
+				}
+
+				int status = THREAD_STATUS_UNKNOWN;
+				boolean suspended = false;
+				if (statusReply.errorCode() != JdwpReplyPacket.ABSENT_INFORMATION) {
+					vm.defaultReplyErrorHandler(statusReply.errorCode());
+					DataInputStream replyData = statusReply.dataInStream();
+					status = threadStatus(vm.readInt("thread status", threadStatusMap(), replyData)); //$NON-NLS-1$
+					suspended = vm.readInt("suspend status", suspendStatusStrings(), replyData) == SUSPEND_STATUS_SUSPENDED; //$NON-NLS-1$
+				}
+
+				vm.defaultReplyErrorHandler(suspendCountReply.errorCode());
+				int suspendCount = vm.readInt("suspend count", suspendCountReply.dataInStream()); //$NON-NLS-1$
+
+				vm.defaultReplyErrorHandler(nameReply.errorCode());
+				String name = vm.readString("name", nameReply.dataInStream()); //$NON-NLS-1$
+
+				if (threadGroupReply != null) {
+					vm.defaultReplyErrorHandler(threadGroupReply.errorCode());
+					thread.fThreadGroup = ThreadGroupReferenceImpl.read(vm, threadGroupReply.dataInStream());
+				}
+				states.add(new State(thread, status, suspended, suspendCount, name, thread.fThreadGroup));
+			}
+			return states;
+		} catch (IOException e) {
+			vm.defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			vm.handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * Gets the suspend count of each of the given threads, sending the
+	 * requests for all threads before any reply is awaited. This costs one
+	 * packet per thread, where {@link #states(VirtualMachineImpl, List)}
+	 * costs up to four.
+	 *
+	 * @param vm
+	 *            the Virtual Machine of the threads
+	 * @param threads
+	 *            the threads to get the suspend count of
+	 * @return Returns the suspend count of each thread, in the order of the
+	 *         given threads, or <code>null</code> for threads that have been
+	 *         collected
+	 */
+	public static List<Integer> suspendCounts(VirtualMachineImpl vm, List<? extends ThreadReference> threads) {
+		int count = threads.size();
+		List<CompletableFuture<JdwpReplyPacket>> replies = new ArrayList<>(count);
+		vm.initJdwpRequest();
+		try {
+			for (ThreadReference thread : threads) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream outData = new DataOutputStream(outBytes);
+				((ThreadReferenceImpl) thread).write(vm, outData);
+				replies.add(vm.requestVMAsync(JdwpCommandPacket.TR_SUSPEND_COUNT, outBytes.toByteArray()));
+			}
+
+			List<Integer> suspendCounts = new ArrayList<>(count);
+			for (CompletableFuture<JdwpReplyPacket> reply : replies) {
+				JdwpReplyPacket replyPacket = awaitReply(reply);
+				if (isCollected(replyPacket)) {
+					suspendCounts.add(null);
+					continue;
+				}
+				vm.defaultReplyErrorHandler(replyPacket.errorCode());
+				suspendCounts.add(Integer.valueOf(vm.readInt("suspend count", replyPacket.dataInStream()))); //$NON-NLS-1$
+			}
+			return suspendCounts;
+		} catch (IOException e) {
+			vm.defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			vm.handledJdwpRequest();
+		}
+	}
+
+	/**
+	 * @return Returns whether the given reply reports that its thread has
+	 *         been collected.
+	 */
+	private static boolean isCollected(JdwpReplyPacket replyPacket) {
+		return replyPacket.errorCode() == JdwpReplyPacket.INVALID_THREAD
+				|| replyPacket.errorCode() == JdwpReplyPacket.INVALID_OBJECT;
+	}
+
 	/**
 	 * Simulate the execution of a return instruction instead of executing the
 	 * next byte code in a method.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,41 +16,142 @@ package org.eclipse.jdi.internal;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Hashtable;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * This class is used to cache values. It uses soft references to store cached
- * values. Once a value is garbage collected by the VM, the corresponding entry
- * is removed from the cache on the next invocation of put() or get().
+ * This class is used to cache values. It uses soft (or weak) references to
+ * store cached values. Once a value is garbage collected by the VM, the
+ * corresponding entry is removed from the cache in a batch on a later
+ * invocation of put(), remove() or values().
  *
  * Note that WeakHashMap can't be used for this purpose because in WeakHashMap
  * soft references are only used for the keys, and values may not have 'strong'
  * references to keys otherwise they will never be garbage collected.
+ *
+ * The cache is backed by concurrent maps, so lookups do not contend with each
+ * other or with updates. Values are additionally indexed by their runtime
+ * class, so that {@link #valuesWithType(Class)} does not need to scan the
+ * whole cache.
  */
 public class ValueCache {
+	/** Value for no size bound. */
+	public static final int UNBOUNDED = -1;
+
 	/**
-	 * Map to store <key, Reference> pairs, where Reference is a soft reference
-	 * to an Object.
+	 * Reference to a cached value that remembers its key and the runtime class
+	 * of its value, to find the entries of a garbage collected value.
 	 */
-	private final Map<Object, SoftReference<Object>> cacheTable = new Hashtable<>();
+	private interface ValueReference {
+		Object key();
+
+		Class<?> type();
+
+		Object value();
+	}
+
+	private static final class SoftValueReference extends SoftReference<Object> implements ValueReference {
+		private final Object fKey;
+		private final Class<?> fType;
+
+		SoftValueReference(Object key, Object value, ReferenceQueue<Object> queue) {
+			super(value, queue);
+			fKey = key;
+			fType = value.getClass();
+		}
+
+		@Override
+		public Object key() {
+			return fKey;
+		}
+
+		@Override
+		public Class<?> type() {
+			return fType;
+		}
+
+		@Override
+		public Object value() {
+			return get();
+		}
+	}
+
+	private static final class WeakValueReference extends WeakReference<Object> implements ValueReference {
+		private final Object fKey;
+		private final Class<?> fType;
+
+		WeakValueReference(Object key, Object value, ReferenceQueue<Object> queue) {
+			super(value, queue);
+			fKey = key;
+			fType = value.getClass();
+		}
+
+		@Override
+		public Object key() {
+			return fKey;
+		}
+
+		@Override
+		public Class<?> type() {
+			return fType;
+		}
+
+		@Override
+		public Object value() {
+			return get();
+		}
+	}
+
+	/**
+	 * Map to store <key, Reference> pairs, where Reference is a soft or weak
+	 * reference to an Object.
+	 */
+	private final Map<Object, ValueReference> cacheTable = new ConcurrentHashMap<>();
 	/**
-	 * Map to store <Reference, key> pairs, to find the cacheTable-key of a
-	 * garbage collected Reference.
+	 * Map to store the references of the values of each runtime class.
 	 */
-	private final Map<SoftReference<Object>, Object> refTable = new Hashtable<>();
+	private final Map<Class<?>, Set<ValueReference>> typeTable = new ConcurrentHashMap<>();
 
 	/**
-	 * The reference-queue that is registered with the soft references. The
-	 * garbage collector will enqueue soft references that are garbage
-	 * collected.
+	 * The reference-queue that is registered with the references. The garbage
+	 * collector will enqueue references that are garbage collected.
 	 */
 	private final ReferenceQueue<Object> refQueue = new ReferenceQueue<>();
 
+	/** Whether values are weakly instead of softly referenced. */
+	private final boolean weakValues;
+
+	/** Maximum number of entries, or {@link #UNBOUNDED}. */
+	private final int maxSize;
+
+	/**
+	 * Creates an unbounded cache with softly referenced values.
+	 */
+	public ValueCache() {
+		this(false, UNBOUNDED);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param weakValues
+	 *            whether values are weakly instead of softly referenced
+	 * @param maxSize
+	 *            maximum number of entries, or {@link #UNBOUNDED}. When the
+	 *            bound is exceeded, arbitrary entries are evicted.
+	 */
+	public ValueCache(boolean weakValues, int maxSize) {
+		this.weakValues = weakValues;
+		this.maxSize = maxSize;
+	}
+
 	/**
 	 * Clean up all entries from the table for which the values were garbage
 	 * collected.
@@ -58,10 +159,38 @@ public class ValueCache {
 	private void cleanup() {
 		Reference<?> ref;
 		while ((ref = refQueue.poll()) != null) {
-			Object key = refTable.get(ref);
-			if (key != null)
-				cacheTable.remove(key);
-			refTable.remove(ref);
+			removeEntry((ValueReference) ref);
+		}
+	}
+
+	/**
+	 * Removes the given reference from the tables, unless its key has been
+	 * mapped to another reference in the meantime.
+	 */
+	private void removeEntry(ValueReference ref) {
+		cacheTable.remove(ref.key(), ref);
+		removeFromTypeTable(ref);
+	}
+
+	private void removeFromTypeTable(ValueReference ref) {
+		Set<ValueReference> refs = typeTable.get(ref.type());
+		if (refs != null) {
+			refs.remove(ref);
+		}
+	}
+
+	/**
+	 * Evicts entries until the cache is within its size bound.
+	 */
+	private void evict() {
+		if (maxSize == UNBOUNDED || cacheTable.size() <= maxSize) {
+			return;
+		}
+		Iterator<ValueReference> iter = cacheTable.values().iterator();
+		while (cacheTable.size() > maxSize && iter.hasNext()) {
+			ValueReference ref = iter.next();
+			iter.remove();
+			removeFromTypeTable(ref);
 		}
 	}
 
@@ -70,9 +199,14 @@ public class ValueCache {
 	 */
 	public void put(Object key, Object value) {
 		cleanup();
-		SoftReference<Object> ref = new SoftReference<>(value, refQueue);
-		cacheTable.put(key, ref);
-		refTable.put(ref, key);
+		ValueReference ref = weakValues ? new WeakValueReference(key, value, refQueue)
+				: new SoftValueReference(key, value, refQueue);
+		typeTable.computeIfAbsent(ref.type(), t -> ConcurrentHashMap.newKeySet()).add(ref);
+		ValueReference old = cacheTable.put(key, ref);
+		if (old != null) {
+			removeFromTypeTable(old);
+		}
+		evict();
 	}
 
 	/**
@@ -83,13 +217,11 @@ public class ValueCache {
 	 *         value had been cached but is garbage collected.
 	 */
 	public Object get(Object key) {
-		cleanup();
-		Object value = null;
-		SoftReference<?> ref = cacheTable.get(key);
+		ValueReference ref = cacheTable.get(key);
 		if (ref != null) {
-			value = ref.get();
+			return ref.value();
 		}
-		return value;
+		return null;
 	}
 
 	/**
@@ -97,20 +229,7 @@ public class ValueCache {
 	 */
 	public Collection<Object> values() {
 		cleanup();
-		List<Object> returnValues = new ArrayList<>();
-		synchronized (cacheTable) {
-			Iterator<SoftReference<Object>> iter = cacheTable.values().iterator();
-			SoftReference<Object> ref;
-			Object value;
-			while (iter.hasNext()) {
-				ref = iter.next();
-				value = ref.get();
-				if (value != null) {
-					returnValues.add(value);
-				}
-			}
-		}
-		return returnValues;
+		return collectValues(cacheTable.values());
 	}
 
 	/**
@@ -119,17 +238,19 @@ public class ValueCache {
 	 */
 	public Collection<Object> valuesWithType(Class<?> type) {
 		cleanup();
-		List<Object> returnValues = new ArrayList<>();
-		synchronized (cacheTable) {
-			Iterator<SoftReference<Object>> iter = cacheTable.values().iterator();
-			SoftReference<Object> ref;
-			Object value;
-			while (iter.hasNext()) {
-				ref = iter.next();
-				value = ref.get();
-				if (value != null && value.getClass().equals(type)) {
-					returnValues.add(value);
-				}
+		Set<ValueReference> refs = typeTable.get(type);
+		if (refs == null) {
+			return Collections.emptyList();
+		}
+		return collectValues(refs);
+	}
+
+	private static List<Object> collectValues(Collection<ValueReference> refs) {
+		List<Object> returnValues = new ArrayList<>(refs.size());
+		for (ValueReference ref : refs) {
+			Object value = ref.value();
+			if (value != null) {
+				returnValues.add(value);
 			}
 		}
 		return returnValues;
@@ -143,13 +264,11 @@ public class ValueCache {
 	 */
 	public Object remove(Object key) {
 		cleanup();
-		Object value = null;
-		SoftReference<?> ref = cacheTable.get(key);
-		if (ref != null) {
-			value = ref.get();
-			refTable.remove(ref);
+		ValueReference ref = cacheTable.remove(key);
+		if (ref == null) {
+			return null;
 		}
-		cacheTable.remove(key);
-		return value;
+		removeFromTypeTable(ref);
+		return ref.value();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -413,6 +414,14 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return fCachedReftypes.values().iterator();
 	}
 
+	/**
+	 * @return Returns an iterator over all cached classes whose mirror has the
+	 *         given runtime class.
+	 */
+	protected final Iterator<Object> allCachedRefTypes(Class<? extends ReferenceTypeImpl> mirrorClass) {
+		return fCachedReftypes.valuesWithType(mirrorClass).iterator();
+	}
+
 	/**
 	 * Returns a list of the currently running threads. For each running thread
 	 * in the target VM, a ThreadReference that mirrors it is placed in the
@@ -687,6 +696,52 @@ public class VirtualMachineImpl extends MirrorImpl implements VirtualMachine,
 		return classesBySignature(signature);
 	}
 
+	/**
+	 * Returns the loaded reference types for each of the given class names.
+	 * The requests for all names are sent before waiting for the first reply.
+	 *
+	 * @param names
+	 *            fully qualified class names
+	 * @return the loaded reference types of each name, in the order of the
+	 *         names
+	 */
+	public List<List<ReferenceType>> classesByNames(List<String> names) {
+		if (names.isEmpty()) {
+			return Collections.emptyList();
+		}
+		initJdwpRequest();
+		try {
+			List<byte[]> data = new ArrayList<>(names.size());
+			for (String name : names) {
+				ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+				DataOutputStream outData = new DataOutputStream(outBytes);
+				writeString(TypeImpl.classNameToSignature(name), "signature", outData); //$NON-NLS-1$
+				data.add(outBytes.toByteArray());
+			}
+			List<List<ReferenceType>> result = new ArrayList<>(names.size());
+			for (JdwpReplyPacket replyPacket : requestVMBatch(JdwpCommandPacket.VM_CLASSES_BY_SIGNATURE, data)) {
+				defaultReplyErrorHandler(replyPacket.errorCode());
+				DataInputStream replyData = replyPacket.dataInStream();
+				int nrOfElements = readInt("elements", replyData); //$NON-NLS-1$
+				List<ReferenceType> elements = new ArrayList<>(nrOfElements);
+				for (int i = 0; i < nrOfElements; i++) {
+					ReferenceTypeImpl elt = ReferenceTypeImpl.readWithTypeTag(this, replyData);
+					readInt("status", ReferenceTypeImpl.classStatusStrings(), replyData); //$NON-NLS-1$
+					if (elt != null) {
+						elements.add(elt);
+					}
+				}
+				result.add(elements);
+			}
+			return result;
+		} catch (IOException e) {
+			defaultIOExceptionHandler(e);
+			return null;
+		} finally {
+			handledJdwpRequest();
+		}
+	}
+
 	/**
 	 * Invalidates this virtual machine mirror.
 	 */
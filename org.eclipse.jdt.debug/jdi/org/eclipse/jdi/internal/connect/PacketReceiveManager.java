@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,13 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
-import java.util.ArrayList;
 import java.util.LinkedList;
-import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdi.TimeoutException;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
@@ -42,17 +46,26 @@ public class PacketReceiveManager extends PacketManager {
 	/** Generic timeout value for infinite timeout. */
 	public static final int TIMEOUT_INFINITE = -1;
 
-	/** List of Command packets received from Virtual Machine. */
-	private final LinkedList<JdwpCommandPacket> fCommandPackets;
+	/**
+	 * Command packets received from Virtual Machine, queued per command. Each
+	 * queue is its own monitor, so only threads waiting for that command are
+	 * woken when a packet arrives.
+	 */
+	private final Map<Integer, LinkedList<JdwpCommandPacket>> fCommandPackets;
 
-	/** List of Reply packets received from Virtual Machine. */
-	private final LinkedList<JdwpReplyPacket> fReplyPackets;
+	/**
+	 * Pending requests, keyed by the id of the command packet. Each entry is
+	 * the completion slot of one request: it is created by whichever of the
+	 * waiting thread and the receiving thread gets there first, and is
+	 * completed with the reply packet by the receiving thread.
+	 */
+	private final Map<Integer, CompletableFuture<JdwpReplyPacket>> fPendingReplies;
 
 	/**
-	 * List of Packets that have timed out already. Maintained so that responses
+	 * Ids of packets that have timed out already. Maintained so that responses
 	 * can be discarded if/when they are received.
 	 */
-	private final ArrayList<Integer> fTimedOutPackets;
+	private final Set<Integer> fTimedOutPackets;
 
 	private final VirtualMachineImpl fVM;
 
@@ -62,19 +75,30 @@ public class PacketReceiveManager extends PacketManager {
 	public PacketReceiveManager(Connection connection, VirtualMachineImpl vmImpl) {
 		super(connection);
 		fVM = vmImpl;
-		fCommandPackets = new LinkedList<>();
-		fReplyPackets = new LinkedList<>();
-		fTimedOutPackets = new ArrayList<>();
+		fCommandPackets = new ConcurrentHashMap<>();
+		fPendingReplies = new ConcurrentHashMap<>();
+		fTimedOutPackets = ConcurrentHashMap.newKeySet();
 	}
 
 	@Override
 	public void disconnectVM() {
 		super.disconnectVM();
-		synchronized (fCommandPackets) {
-			fCommandPackets.notifyAll();
+		for (LinkedList<JdwpCommandPacket> packets : fCommandPackets.values()) {
+			synchronized (packets) {
+				packets.notifyAll();
+			}
 		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.notifyAll();
+		failPendingReplies();
+	}
+
+	/**
+	 * Completes all outstanding requests exceptionally, used once the
+	 * connection to the Virtual Machine has been lost.
+	 */
+	private void failPendingReplies() {
+		for (CompletableFuture<JdwpReplyPacket> reply : fPendingReplies.values()) {
+			reply.completeExceptionally(new VMDisconnectedException(
+					ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2));
 		}
 	}
 
@@ -104,17 +128,18 @@ public class PacketReceiveManager extends PacketManager {
 	public JdwpCommandPacket getCommand(int command, long timeToWait)
 			throws InterruptedException {
 		JdwpCommandPacket packet = null;
-		synchronized (fCommandPackets) {
+		LinkedList<JdwpCommandPacket> packets = commandPackets(command);
+		synchronized (packets) {
 			long remainingTime = timeToWait;
 			long timeBeforeWait;
 			long waitedTime;
 
 			// Wait until command is available.
 			while (!VMIsDisconnected()
-					&& (packet = removeCommandPacket(command)) == null
+					&& (packet = packets.poll()) == null
 					&& (timeToWait < 0 || remainingTime > 0)) {
 				timeBeforeWait = System.currentTimeMillis();
-				waitForPacketAvailable(remainingTime, fCommandPackets);
+				waitForPacketAvailable(remainingTime, packets);
 				waitedTime = System.currentTimeMillis() - timeBeforeWait;
 				remainingTime -= waitedTime;
 			}
@@ -152,16 +177,15 @@ public class PacketReceiveManager extends PacketManager {
 	public JdwpReplyPacket getReply(int id, long timeToWait) {
 		JdwpReplyPacket packet = null;
 		long remainingTime = timeToWait;
-		synchronized (fReplyPackets) {
+		Integer key = Integer.valueOf(id);
+		CompletableFuture<JdwpReplyPacket> reply = pendingReply(key);
+		try {
 			final long timeBeforeWait = System.currentTimeMillis();
 			// Wait until reply is available.
 			while (!VMIsDisconnected() && remainingTime > 0) {
-				packet = removeReplyPacket(id);
-				if (packet != null) {
-					break;
-				}
 				try {
-					waitForPacketAvailable(remainingTime, fReplyPackets);
+					packet = reply.get(remainingTime, TimeUnit.MILLISECONDS);
+					break;
 				}
 				// if the remote VM is interrupted DO NOT drop the connection -
 				// see bug 171075
@@ -173,14 +197,28 @@ public class PacketReceiveManager extends PacketManager {
 					// Do not stop waiting on interrupt, this causes
 					// sporadic TimeoutException's without timeout
 					// break;
+				} catch (ExecutionException e) {
+					// the connection has been lost, reported below
+					break;
+				} catch (java.util.concurrent.TimeoutException e) {
+					// reported below
 				}
 				long waitedTime = System.currentTimeMillis() - timeBeforeWait;
 				remainingTime = timeToWait - waitedTime;
 			}
+		} finally {
+			if (packet == null) {
+				// mark the id before removing the slot, so that a late reply
+				// is discarded rather than given a slot nobody waits for
+				fTimedOutPackets.add(key);
+			}
+			fPendingReplies.remove(key, reply);
 		}
 		if (packet == null) {
-			synchronized (fReplyPackets) {
-				packet = removeReplyPacket(id);
+			// the reply may have arrived just before the id was marked
+			packet = completedReply(reply);
+			if (packet != null) {
+				fTimedOutPackets.remove(key);
 			}
 		}
 		// Check for an IO Exception.
@@ -189,9 +227,6 @@ public class PacketReceiveManager extends PacketManager {
 					ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2);
 		// Check for a timeout.
 		if (packet == null) {
-			synchronized (fTimedOutPackets) {
-				fTimedOutPackets.add(Integer.valueOf(id));
-			}
 			throw new TimeoutException(NLS.bind(
 					ConnectMessages.PacketReceiveManager_0, new String[] { id
 							+ "" })); //$NON-NLS-1$
@@ -206,6 +241,58 @@ public class PacketReceiveManager extends PacketManager {
 		return getReply(commandPacket.getId(), fVM.getRequestTimeout());
 	}
 
+	/**
+	 * Registers interest in the reply to the given command packet and returns
+	 * a future that is completed when that reply arrives.
+	 * <p>
+	 * The future completes exceptionally with a {@link TimeoutException} if
+	 * no reply arrives within the request timeout of the Virtual Machine, and
+	 * with a {@link VMDisconnectedException} if the connection is lost.
+	 * </p>
+	 *
+	 * @param commandPacket
+	 *            the command packet whose reply is awaited
+	 * @return future reply packet
+	 */
+	public CompletableFuture<JdwpReplyPacket> getReplyAsync(JdwpCommandPacket commandPacket) {
+		final int id = commandPacket.getId();
+		final Integer key = Integer.valueOf(id);
+		CompletableFuture<JdwpReplyPacket> reply = pendingReply(key);
+		reply.whenComplete((packet, exception) -> fPendingReplies.remove(key, reply));
+		if (VMIsDisconnected()) {
+			reply.completeExceptionally(new VMDisconnectedException(
+					ConnectMessages.PacketReceiveManager_Got_IOException_from_Virtual_Machine_2));
+			return reply;
+		}
+		long timeout = fVM.getRequestTimeout();
+		if (timeout > 0) {
+			CompletableFuture.delayedExecutor(timeout, TimeUnit.MILLISECONDS).execute(() -> {
+				if (reply.isDone()) {
+					return;
+				}
+				fTimedOutPackets.add(key);
+				if (!reply.completeExceptionally(new TimeoutException(NLS.bind(
+						ConnectMessages.PacketReceiveManager_0, new String[] { id
+								+ "" })))) { //$NON-NLS-1$
+					// the reply arrived just before the id was marked
+					fTimedOutPackets.remove(key);
+				}
+			});
+		}
+		return reply;
+	}
+
+	/**
+	 * Discards interest in the reply to the given command packet, used when
+	 * the command packet could not be sent.
+	 *
+	 * @param commandPacket
+	 *            the command packet whose reply is no longer awaited
+	 */
+	public void cancelReplyAsync(JdwpCommandPacket commandPacket) {
+		fPendingReplies.remove(Integer.valueOf(commandPacket.getId()));
+	}
+
 	/**
 	 * Wait for an available packet from the Virtual Machine.
 	 */
@@ -220,32 +307,28 @@ public class PacketReceiveManager extends PacketManager {
 	}
 
 	/**
-	 * @return Returns and removes a specified command packet from the command
-	 *         packet list.
+	 * @return Returns the queue of received command packets of the given
+	 *         command.
 	 */
-	private JdwpCommandPacket removeCommandPacket(int command) {
-		ListIterator<JdwpCommandPacket> iter = fCommandPackets.listIterator();
-		while (iter.hasNext()) {
-			JdwpCommandPacket packet = iter.next();
-			if (packet.getCommand() == command) {
-				iter.remove();
-				return packet;
-			}
-		}
-		return null;
+	private LinkedList<JdwpCommandPacket> commandPackets(int command) {
+		return fCommandPackets.computeIfAbsent(Integer.valueOf(command), c -> new LinkedList<>());
 	}
 
 	/**
-	 * @return Returns a specified reply packet from the reply packet list.
+	 * @return Returns the completion slot of the request with the given id,
+	 *         creating it if necessary.
 	 */
-	private JdwpReplyPacket removeReplyPacket(int id) {
-		ListIterator<JdwpReplyPacket> iter = fReplyPackets.listIterator();
-		while (iter.hasNext()) {
-			JdwpReplyPacket packet = iter.next();
-			if (packet.getId() == id) {
-				iter.remove();
-				return packet;
-			}
+	private CompletableFuture<JdwpReplyPacket> pendingReply(Integer id) {
+		return fPendingReplies.computeIfAbsent(id, i -> new CompletableFuture<>());
+	}
+
+	/**
+	 * @return Returns the reply packet of the given completion slot, or
+	 *         <code>null</code> if it has not (successfully) completed.
+	 */
+	private static JdwpReplyPacket completedReply(CompletableFuture<JdwpReplyPacket> reply) {
+		if (reply.isDone() && !reply.isCompletedExceptionally()) {
+			return reply.getNow(null);
 		}
 		return null;
 	}
@@ -257,9 +340,10 @@ public class PacketReceiveManager extends PacketManager {
 		if (isTimedOut(packet)) {
 			return; // already timed out. No need to keep this one
 		}
-		synchronized (fCommandPackets) {
-			fCommandPackets.add(packet);
-			fCommandPackets.notifyAll();
+		LinkedList<JdwpCommandPacket> packets = commandPackets(packet.getCommand());
+		synchronized (packets) {
+			packets.add(packet);
+			packets.notifyAll();
 		}
 	}
 
@@ -271,25 +355,26 @@ public class PacketReceiveManager extends PacketManager {
 	 * @return whether the request for the given packet has already timed out
 	 */
 	private boolean isTimedOut(JdwpPacket packet) {
-		synchronized (fTimedOutPackets) {
-			if (fTimedOutPackets.isEmpty()) {
-				return false;
-			}
-			Integer id = Integer.valueOf(packet.getId());
-			return fTimedOutPackets.remove(id);
+		if (fTimedOutPackets.isEmpty()) {
+			return false;
 		}
+		return fTimedOutPackets.remove(Integer.valueOf(packet.getId()));
 	}
 
 	/**
-	 * Add a reply packet to the reply packet list.
+	 * Add a reply packet to the completion slot of its request.
 	 */
 	private void addReplyPacket(JdwpReplyPacket packet) {
-		if (isTimedOut(packet)) {
-			return; // already timed out. No need to keep this one
-		}
-		synchronized (fReplyPackets) {
-			fReplyPackets.add(packet);
-			fReplyPackets.notifyAll();
+		// checking for a timeout and creating the slot is atomic with respect
+		// to the removal of the slot, which happens after the id is marked
+		CompletableFuture<JdwpReplyPacket> reply = fPendingReplies.compute(Integer.valueOf(packet.getId()), (id, slot) -> {
+			if (isTimedOut(packet)) {
+				return null; // already timed out. No need to keep this one
+			}
+			return slot == null ? new CompletableFuture<>() : slot;
+		});
+		if (reply != null) {
+			reply.complete(packet);
 		}
 	}
 
@@ -299,8 +384,14 @@ public class PacketReceiveManager extends PacketManager {
 	 */
 	private void readAvailablePacket() throws IOException {
 		// Read a packet from the Input Stream.
-		byte[] bytes = getConnection().readPacket();
-		JdwpPacket packet = JdwpPacket.build(bytes);
+		Connection connection = getConnection();
+		JdwpPacket packet;
+		if (connection instanceof SocketChannelConnection) {
+			packet = ((SocketChannelConnection) connection).readJdwpPacket();
+		} else {
+			byte[] bytes = connection.readPacket();
+			packet = JdwpPacket.build(bytes);
+		}
 		// Add packet to command or reply queue.
 		if (packet instanceof JdwpCommandPacket)
 			addCommandPacket((JdwpCommandPacket) packet);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,9 @@ package org.eclipse.jdi.internal.connect;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.eclipse.jdi.internal.jdwp.JdwpPacket;
 import org.eclipse.osgi.util.NLS;
@@ -28,15 +30,26 @@ import com.sun.jdi.connect.spi.Connection;
  * Machine.
  */
 public class PacketSendManager extends PacketManager {
+	/**
+	 * System property holding the number of milliseconds the sending thread
+	 * waits for further packets after it has been woken, so that bursts of
+	 * requests are written together. Defaults to <code>0</code>, no waiting.
+	 */
+	public static final String LINGER_PROPERTY = "org.eclipse.jdi.internal.connect.PacketSendManager.linger"; //$NON-NLS-1$
+
 	/** List of packets to be sent to Virtual Machine */
 	private final LinkedList<JdwpPacket> fOutgoingPackets;
 
+	/** Linger window in milliseconds, see {@link #LINGER_PROPERTY}. */
+	private final long fLinger;
+
 	/**
 	 * Create a new thread that send packets to the Virtual Machine.
 	 */
 	public PacketSendManager(Connection connection) {
 		super(connection);
 		fOutgoingPackets = new LinkedList<>();
+		fLinger = Math.max(0, Long.getLong(LINGER_PROPERTY, 0).longValue());
 	}
 
 	@Override
@@ -101,26 +114,39 @@ public class PacketSendManager extends PacketManager {
 	}
 
 	/**
-	 * Send available packets to the Virtual Machine.
+	 * Send available packets to the Virtual Machine. All packets queued when
+	 * the sending thread wakes up (or within the linger window) are written
+	 * together.
 	 */
 	private void sendAvailablePackets() throws InterruptedException,
 			IOException {
-		LinkedList<JdwpPacket> packetsToSend = new LinkedList<>();
+		List<JdwpPacket> packetsToSend;
 		synchronized (fOutgoingPackets) {
 			while (fOutgoingPackets.isEmpty()) {
 				fOutgoingPackets.wait();
 			}
-			packetsToSend.addAll(fOutgoingPackets);
+			if (fLinger > 0) {
+				long deadline = System.currentTimeMillis() + fLinger;
+				long remaining = fLinger;
+				while (remaining > 0 && !VMIsDisconnected()) {
+					fOutgoingPackets.wait(remaining);
+					remaining = deadline - System.currentTimeMillis();
+				}
+			}
+			packetsToSend = new ArrayList<>(fOutgoingPackets);
 			fOutgoingPackets.clear();
 		}
 
 		// Put available packets on Output Stream.
-		while (packetsToSend.size() > 0) {
-			// Note that only JdwpPackets are added to the list, so a
-			// ClassCastException can't occur.
-			JdwpPacket packet = packetsToSend.removeFirst();
-			byte[] bytes = packet.getPacketAsBytes();
-			getConnection().writePacket(bytes);
+		Connection connection = getConnection();
+		if (connection instanceof SocketChannelConnection) {
+			((SocketChannelConnection) connection).writeJdwpPackets(packetsToSend);
+		} else if (connection instanceof SocketConnection) {
+			((SocketConnection) connection).writeJdwpPackets(packetsToSend);
+		} else {
+			for (JdwpPacket packet : packetsToSend) {
+				connection.writePacket(packet.getPacketAsBytes());
+			}
 		}
 	}
 }
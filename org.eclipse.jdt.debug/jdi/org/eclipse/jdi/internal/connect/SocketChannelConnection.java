@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdi.internal.connect;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
+
+import com.sun.jdi.connect.spi.ClosedConnectionException;
+import com.sun.jdi.connect.spi.Connection;
+
+/**
+ * A connection to a Virtual Machine over a blocking {@link SocketChannel}.
+ * <p>
+ * Besides the raw packet methods of {@link Connection}, this connection reads
+ * and writes {@link JdwpPacket}s directly: headers are decoded from a reused
+ * direct buffer and the payload is transferred from a reused direct buffer into
+ * the packet's data array in one copy. Outgoing packets are staged in a reused
+ * direct buffer, or written with a gathering write of header and data when too
+ * large, without assembling them into one array first.
+ * </p>
+ */
+public class SocketChannelConnection extends Connection {
+
+	/**
+	 * System property that selects this connection over
+	 * {@link SocketConnection} for socket transports.
+	 */
+	public static final String ENABLE_SOCKET_CHANNEL_CONNECTION = "org.eclipse.jdi.internal.connect.SocketChannelConnection.enable"; //$NON-NLS-1$
+
+	/** Size of the direct buffers used to transfer packet data. */
+	private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+	private SocketChannel fChannel;
+
+	/** Buffers only used by the reading thread. */
+	private final ByteBuffer fReadHeaderBuffer = ByteBuffer.allocateDirect(JdwpPacket.MIN_PACKET_LENGTH);
+	private final ByteBuffer fReadBuffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+	private final byte[] fReadHeader = new byte[JdwpPacket.MIN_PACKET_LENGTH];
+
+	/** Lock and buffers for the writing side. */
+	private final Object fWriteLock = new Object();
+	private final ByteBuffer fWriteBuffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+	private final byte[] fWriteHeader = new byte[JdwpPacket.MIN_PACKET_LENGTH];
+
+	SocketChannelConnection(SocketChannel channel) {
+		fChannel = channel;
+	}
+
+	/**
+	 * @return Returns whether socket transports should use this connection.
+	 */
+	static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLE_SOCKET_CHANNEL_CONNECTION);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#close()
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (fChannel == null)
+			return;
+
+		fChannel.close();
+		fChannel = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#isOpen()
+	 */
+	@Override
+	public synchronized boolean isOpen() {
+		return fChannel != null;
+	}
+
+	private synchronized SocketChannel channel() throws ClosedConnectionException {
+		if (fChannel == null) {
+			throw new ClosedConnectionException();
+		}
+		return fChannel;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#readPacket()
+	 */
+	@Override
+	public byte[] readPacket() throws IOException {
+		JdwpPacket packet = readJdwpPacket();
+		return packet.getPacketAsBytes();
+	}
+
+	/**
+	 * Reads the next packet from the Virtual Machine.
+	 *
+	 * @return Returns the packet read.
+	 */
+	public JdwpPacket readJdwpPacket() throws IOException {
+		SocketChannel channel = channel();
+		synchronized (fReadBuffer) {
+			fReadHeaderBuffer.clear();
+			try {
+				readFully(channel, fReadHeaderBuffer);
+			} catch (IOException e) {
+				throw new ClosedConnectionException();
+			}
+			fReadHeaderBuffer.flip();
+			fReadHeaderBuffer.get(fReadHeader);
+
+			int packetLength = JdwpPacket.readPacketLength(fReadHeader);
+			if (packetLength < JdwpPacket.MIN_PACKET_LENGTH) {
+				throw new IOException("JDWP Packet under 11 bytes"); //$NON-NLS-1$
+			}
+			byte[] data = null;
+			int dataLength = packetLength - JdwpPacket.MIN_PACKET_LENGTH;
+			if (dataLength > 0) {
+				data = new byte[dataLength];
+				int offset = 0;
+				while (offset < dataLength) {
+					fReadBuffer.clear();
+					fReadBuffer.limit(Math.min(fReadBuffer.capacity(), dataLength - offset));
+					readFully(channel, fReadBuffer);
+					fReadBuffer.flip();
+					int count = fReadBuffer.remaining();
+					fReadBuffer.get(data, offset, count);
+					offset += count;
+				}
+			}
+			return JdwpPacket.build(fReadHeader, data);
+		}
+	}
+
+	private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.sun.jdi.connect.spi.Connection#writePacket(byte[])
+	 */
+	@Override
+	public void writePacket(byte[] packet) throws IOException {
+		if (packet == null) {
+			throw new IllegalArgumentException(
+					"Invalid JDWP Packet, packet cannot be null"); //$NON-NLS-1$
+		}
+		if (packet.length < JdwpPacket.MIN_PACKET_LENGTH) {
+			throw new IllegalArgumentException(
+					"Invalid JDWP Packet, must be at least 11 bytes. PacketSize:" + packet.length); //$NON-NLS-1$
+		}
+		int packetSize = JdwpPacket.readPacketLength(packet);
+		if (packetSize < JdwpPacket.MIN_PACKET_LENGTH) {
+			throw new IllegalArgumentException(
+					"Invalid JDWP Packet, must be at least 11 bytes. PacketSize:" + packetSize); //$NON-NLS-1$
+		}
+		if (packetSize > packet.length) {
+			throw new IllegalArgumentException(
+					"Invalid JDWP packet: Specified length is greater than actual length"); //$NON-NLS-1$
+		}
+		SocketChannel channel = channel();
+		synchronized (fWriteLock) {
+			// packet.length can be > packetSize. Sending too much will cause
+			// errors on the other side
+			writeFully(channel, ByteBuffer.wrap(packet, 0, packetSize));
+		}
+	}
+
+	/**
+	 * Writes the given packets to the Virtual Machine, in order. Packets are
+	 * staged in a direct buffer and written with as few writes as possible;
+	 * payloads that do not fit the buffer are written in place.
+	 */
+	public void writeJdwpPackets(List<? extends JdwpPacket> packets) throws IOException {
+		SocketChannel channel = channel();
+		synchronized (fWriteLock) {
+			fWriteBuffer.clear();
+			for (JdwpPacket packet : packets) {
+				packet.writeHeader(fWriteHeader);
+				byte[] data = packet.data();
+				int dataLength = data == null ? 0 : data.length;
+				if (fWriteBuffer.remaining() < JdwpPacket.MIN_PACKET_LENGTH + dataLength) {
+					flushWriteBuffer(channel);
+				}
+				if (fWriteBuffer.remaining() >= JdwpPacket.MIN_PACKET_LENGTH + dataLength) {
+					fWriteBuffer.put(fWriteHeader);
+					if (dataLength > 0) {
+						fWriteBuffer.put(data);
+					}
+				} else {
+					// too large to stage, gather header and data in one write
+					writeFully(channel, ByteBuffer.wrap(fWriteHeader), ByteBuffer.wrap(data));
+				}
+			}
+			flushWriteBuffer(channel);
+		}
+	}
+
+	private void flushWriteBuffer(SocketChannel channel) throws IOException {
+		fWriteBuffer.flip();
+		writeFully(channel, fWriteBuffer);
+		fWriteBuffer.clear();
+	}
+
+	private static void writeFully(SocketChannel channel, ByteBuffer... buffers) throws IOException {
+		ByteBuffer last = buffers[buffers.length - 1];
+		while (last.hasRemaining()) {
+			channel.write(buffers);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,15 @@
  *******************************************************************************/
 package org.eclipse.jdi.internal.connect;
 
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.util.List;
+
+import org.eclipse.jdi.internal.jdwp.JdwpPacket;
 
 import com.sun.jdi.connect.spi.ClosedConnectionException;
 import com.sun.jdi.connect.spi.Connection;
@@ -32,6 +36,18 @@ public class SocketConnection extends Connection {
 
 	private final OutputStream fOutput;
 
+	/**
+	 * Buffered view of the output stream used to coalesce several packets into
+	 * few socket writes. Guarded by the output stream.
+	 */
+	private BufferedOutputStream fBufferedOutput;
+
+	/** Header bytes of the packet being written. Guarded by the output stream. */
+	private final byte[] fHeader = new byte[JdwpPacket.MIN_PACKET_LENGTH];
+
+	/** Size of the buffer used to coalesce packets. */
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
 	SocketConnection(Socket socket, InputStream in, OutputStream out) {
 		fSocket = socket;
 		fInput = in;
@@ -144,6 +160,36 @@ public class SocketConnection extends Connection {
 		}
 	}
 
+	/**
+	 * Writes the given packets to the Virtual Machine, in order. The packets
+	 * are coalesced in a buffer and flushed once, so a burst of small packets
+	 * costs few socket writes.
+	 */
+	public void writeJdwpPackets(List<? extends JdwpPacket> packets) throws IOException {
+		OutputStream stream = null;
+		synchronized (this) {
+			if (!isOpen()) {
+				throw new ClosedConnectionException();
+			}
+			stream = fOutput;
+		}
+
+		synchronized (stream) {
+			if (fBufferedOutput == null) {
+				fBufferedOutput = new BufferedOutputStream(stream, WRITE_BUFFER_SIZE);
+			}
+			for (JdwpPacket packet : packets) {
+				packet.writeHeader(fHeader);
+				fBufferedOutput.write(fHeader);
+				byte[] data = packet.data();
+				if (data != null) {
+					fBufferedOutput.write(data);
+				}
+			}
+			fBufferedOutput.flush();
+		}
+	}
+
 	private int getPacketLength(byte[] packet) {
 		int len = 0;
 		if (packet.length >= 4) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,13 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Arrays;
 
 import org.eclipse.jdi.TimeoutException;
@@ -34,6 +38,13 @@ import com.sun.jdi.connect.spi.Connection;
 import com.sun.jdi.connect.spi.TransportService;
 
 public class SocketTransportService extends TransportService {
+	/**
+	 * System property controlling <code>TCP_NODELAY</code> on JDWP sockets.
+	 * Defaults to <code>true</code>: the packet sender already coalesces
+	 * queued packets, so Nagle's algorithm would only delay requests.
+	 */
+	public static final String TCP_NODELAY_PROPERTY = "org.eclipse.jdi.internal.connect.SocketTransportService.tcpNoDelay"; //$NON-NLS-1$
+
 	/** Handshake bytes used just after connecting VM. */
 	private static final byte[] handshakeBytes = "JDWP-Handshake".getBytes(); //$NON-NLS-1$
 
@@ -102,6 +113,12 @@ public class SocketTransportService extends TransportService {
 		} catch (SocketTimeoutException e) {
 			throw new TransportTimeoutException();
 		}
+		configureSocket(socket);
+		SocketChannel channel = socket.getChannel();
+		if (channel != null) {
+			performHandshake(Channels.newInputStream(channel), Channels.newOutputStream(channel), handshakeTimeout);
+			return new SocketChannelConnection(channel);
+		}
 		InputStream input = socket.getInputStream();
 		OutputStream output = socket.getOutputStream();
 		performHandshake(input, output, handshakeTimeout);
@@ -139,12 +156,20 @@ public class SocketTransportService extends TransportService {
 		}
 
 		final IOException[] ex = new IOException[1];
-		final SocketConnection[] result = new SocketConnection[1];
+		final Connection[] result = new Connection[1];
 		Thread attachThread = new Thread(new Runnable() {
 			@Override
 			public void run() {
 				try {
+					if (SocketChannelConnection.isEnabled()) {
+						SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+						configureSocket(channel.socket());
+						performHandshake(Channels.newInputStream(channel), Channels.newOutputStream(channel), handshakeTimeout);
+						result[0] = new SocketChannelConnection(channel);
+						return;
+					}
 					Socket socket = new Socket(host, port);
+					configureSocket(socket);
 					InputStream input = socket.getInputStream();
 					OutputStream output = socket.getOutputStream();
 					performHandshake(input, output, handshakeTimeout);
@@ -172,6 +197,14 @@ public class SocketTransportService extends TransportService {
 		return result[0];
 	}
 
+	/**
+	 * Applies the socket options of JDWP connections to the given socket.
+	 */
+	private static void configureSocket(Socket socket) throws IOException {
+		String noDelay = System.getProperty(TCP_NODELAY_PROPERTY);
+		socket.setTcpNoDelay(noDelay == null || Boolean.parseBoolean(noDelay));
+	}
+
 	void performHandshake(final InputStream in, final OutputStream out,
 			final long timeout) throws IOException {
 		final IOException[] ex = new IOException[1];
@@ -300,7 +333,12 @@ public class SocketTransportService extends TransportService {
 			host = "localhost"; //$NON-NLS-1$
 		}
 
-		fServerSocket = new ServerSocket(port);
+		if (SocketChannelConnection.isEnabled()) {
+			// sockets accepted through the channel's adaptor have a channel
+			fServerSocket = ServerSocketChannel.open().bind(new InetSocketAddress(port)).socket();
+		} else {
+			fServerSocket = new ServerSocket(port);
+		}
 		port = fServerSocket.getLocalPort();
 		ListenKey listenKey = new SocketListenKey(host + ":" + port); //$NON-NLS-1$
 		return listenKey;
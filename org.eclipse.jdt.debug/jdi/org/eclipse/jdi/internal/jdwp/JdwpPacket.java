@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,7 +26,7 @@ import java.lang.reflect.Modifier;
 public abstract class JdwpPacket {
 	/** General JDWP constants. */
 	public static final byte FLAG_REPLY_PACKET = (byte) 0x80;
-	protected static final int MIN_PACKET_LENGTH = 11;
+	public static final int MIN_PACKET_LENGTH = 11;
 
 	/** Map with Strings for flag bits. */
 	private static String[] fgFlagStrings = null;
@@ -160,10 +160,50 @@ public abstract class JdwpPacket {
 		return packet;
 	}
 
-	public byte[] getPacketAsBytes() throws IOException {
-		int len = getLength();
-		byte[] bytes = new byte[len];
+	/**
+	 * Constructs a JdwpPacket from its header and its data. The data array is
+	 * used as is, without copying.
+	 *
+	 * @param header
+	 *            the {@link #MIN_PACKET_LENGTH} header bytes of the packet
+	 * @param data
+	 *            the data of the packet, or <code>null</code> if there is none
+	 */
+	public static JdwpPacket build(byte[] header, byte[] data) throws IOException {
+		int id = readHeaderInt(header, 4);
+		byte flags = header[8];
+		JdwpPacket packet;
+		if ((flags & FLAG_REPLY_PACKET) != 0)
+			packet = new JdwpReplyPacket();
+		else
+			packet = new JdwpCommandPacket();
+		packet.setId(id);
+		packet.setFlags(flags);
+		packet.readSpecificHeaderFields(header, 9);
+		packet.fDataBuf = data;
+		return packet;
+	}
 
+	/**
+	 * @return Returns the total packet length encoded in the given header.
+	 */
+	public static int readPacketLength(byte[] header) {
+		return readHeaderInt(header, 0);
+	}
+
+	private static int readHeaderInt(byte[] bytes, int index) {
+		return ((bytes[index] & 0xff) << 24) + ((bytes[index + 1] & 0xff) << 16)
+				+ ((bytes[index + 2] & 0xff) << 8) + ((bytes[index + 3] & 0xff) << 0);
+	}
+
+	/**
+	 * Writes the {@link #MIN_PACKET_LENGTH} header bytes of this packet.
+	 *
+	 * @param bytes
+	 *            the array to write the header to, starting at index 0
+	 */
+	public void writeHeader(byte[] bytes) throws IOException {
+		int len = getLength();
 		// convert len to bytes
 		bytes[0] = (byte) (len >>> 24);
 		bytes[1] = (byte) (len >>> 16);
@@ -181,12 +221,16 @@ public abstract class JdwpPacket {
 		bytes[8] = getFlags();
 
 		// convert specific header fields
-		int index = 9;
-		index += writeSpecificHeaderFields(bytes, index);
+		writeSpecificHeaderFields(bytes, 9);
+	}
 
-		if (index < len && fDataBuf != null) {
+	public byte[] getPacketAsBytes() throws IOException {
+		int len = getLength();
+		byte[] bytes = new byte[len];
+		writeHeader(bytes);
+		if (MIN_PACKET_LENGTH < len && fDataBuf != null) {
 			// copy data
-			System.arraycopy(fDataBuf, 0, bytes, index, fDataBuf.length);
+			System.arraycopy(fDataBuf, 0, bytes, MIN_PACKET_LENGTH, fDataBuf.length);
 		}
 		return bytes;
 	}
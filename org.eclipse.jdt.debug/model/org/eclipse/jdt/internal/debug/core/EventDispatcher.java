@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,15 +13,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugEvent;
@@ -30,14 +34,18 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.jdi.internal.event.ExceptionEventImpl;
 import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 
+import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.event.EventIterator;
 import com.sun.jdi.event.EventQueue;
 import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.LocatableEvent;
 import com.sun.jdi.event.ThreadDeathEvent;
+import com.sun.jdi.event.ThreadStartEvent;
 import com.sun.jdi.event.VMDeathEvent;
 import com.sun.jdi.event.VMDisconnectEvent;
 import com.sun.jdi.event.VMStartEvent;
@@ -73,9 +81,16 @@ public class EventDispatcher implements Runnable {
 	private volatile boolean fShutdown;
 	/**
 	 * Table of event listeners. Table is a mapping of <code>EventRequest</code>
-	 * to <code>IJDIEventListener</code>.
+	 * to <code>IJDIEventListener</code>. Requests are the keys rather than their
+	 * request identifiers, which change every time a request is enabled.
 	 */
-	private final HashMap<EventRequest, IJDIEventListener> fEventHandlers;
+	private final Map<EventRequest, IJDIEventListener> fEventHandlers;
+
+	/**
+	 * Number of registered listeners that are line breakpoints, the only
+	 * listeners whose events may require expression evaluation.
+	 */
+	private final AtomicInteger fLineBreakpointHandlerCount = new AtomicInteger();
 
 	/**
 	 * Queue of debug model events to fire, created when processing events on
@@ -83,6 +98,42 @@ public class EventDispatcher implements Runnable {
 	 */
 	private final Map<EventSet, List<DebugEvent>> fSetToQueue = new HashMap<>();
 
+	/**
+	 * Maximum number of jobs dispatching event sets that require expression
+	 * evaluation at the same time.
+	 */
+	private static final int MAX_EVALUATION_DISPATCH_JOBS = 8;
+
+	/**
+	 * Dispatches of event sets that require expression evaluation, waiting to
+	 * run in the evaluation dispatch jobs.
+	 */
+	private final Deque<Runnable> fEvaluationQueue = new ArrayDeque<>();
+
+	/**
+	 * The evaluation dispatch jobs, created on demand and reused.
+	 */
+	private final EvaluationDispatchJob[] fEvaluationJobs = new EvaluationDispatchJob[MAX_EVALUATION_DISPATCH_JOBS];
+
+	/**
+	 * Number of lanes dispatching the event sets of different threads in
+	 * parallel.
+	 */
+	private static final int DISPATCH_LANES = 8;
+
+	/**
+	 * The lanes dispatching event sets of threads when parallel dispatch is
+	 * enabled, created on demand. Event sets of a thread are always dispatched
+	 * by the same lane, in order. Also the lock guarding the lanes' queues.
+	 */
+	private final DispatchLaneJob[] fLanes = new DispatchLaneJob[DISPATCH_LANES];
+
+	/**
+	 * Number of event sets queued in lanes that have not been dispatched yet.
+	 * Guarded by the lanes.
+	 */
+	private int fLanePendingCount;
+
 	/**
 	 * Constructs a new event dispatcher listening for events originating from
 	 * the specified debug target's underlying VM.
@@ -91,18 +142,47 @@ public class EventDispatcher implements Runnable {
 	 *            the target this event dispatcher belongs to
 	 */
 	public EventDispatcher(JDIDebugTarget target) {
-		fEventHandlers = new HashMap<>(10);
+		fEventHandlers = new ConcurrentHashMap<>();
 		fTarget = target;
 		fShutdown = false;
 	}
 
 	/**
-	 * Dispatch the given event set.
+	 * Returns the listeners registered for the requests of the events in the
+	 * given event set.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return the listener of each event in the event set, in the order of the
+	 *         event set's iterator, <code>null</code> for events without a
+	 *         listener
+	 */
+	private IJDIEventListener[] getListeners(EventSet eventSet) {
+		IJDIEventListener[] listeners = new IJDIEventListener[eventSet.size()];
+		int index = -1;
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			index++;
+			Event event = iter.nextEvent();
+			if (event != null) {
+				EventRequest request = event.request();
+				if (request != null) {
+					listeners[index] = fEventHandlers.get(request);
+				}
+			}
+		}
+		return listeners;
+	}
+
+	/**
+	 * Dispatch the given event set to the given listeners.
 	 *
 	 * @param eventSet
 	 *            events to dispatch
+	 * @param listeners
+	 *            listener of each event, see {@link #getListeners(EventSet)}
 	 */
-	private void dispatch(EventSet eventSet) {
+	private void dispatch(EventSet eventSet, IJDIEventListener[] listeners) {
 		if (isShutdown()) {
 			return;
 		}
@@ -119,11 +199,10 @@ public class EventDispatcher implements Runnable {
 			JDIDebugOptions.trace(buf.toString());
 		}
 		EventIterator iter = eventSet.eventIterator();
-		IJDIEventListener[] listeners = new IJDIEventListener[eventSet.size()];
 		boolean vote = false;
 		boolean resume = true;
 		int index = -1;
-		List<Event> deferredEvents = null;
+		boolean[] deferredEvents = null;
 		while (iter.hasNext()) {
 			index++;
 			if (isShutdown()) {
@@ -134,8 +213,7 @@ public class EventDispatcher implements Runnable {
 				continue;
 			}
 			// Dispatch events to registered listeners, if any
-			IJDIEventListener listener = fEventHandlers.get(event.request());
-			listeners[index] = listener;
+			IJDIEventListener listener = listeners[index];
 			if (listener != null) {
 				if (listener instanceof IJavaLineBreakpoint) {
 					// Event dispatch to conditional breakpoints is deferred
@@ -144,9 +222,9 @@ public class EventDispatcher implements Runnable {
 					try {
 						if (((IJavaLineBreakpoint) listener).isConditionEnabled()) {
 							if (deferredEvents == null) {
-								deferredEvents = new ArrayList<>(5);
+								deferredEvents = new boolean[listeners.length];
 							}
-							deferredEvents.add(event);
+							deferredEvents[index] = true;
 							continue;
 						}
 					} catch (CoreException exception) {
@@ -182,18 +260,18 @@ public class EventDispatcher implements Runnable {
 
 		// process deferred conditional breakpoint events
 		if (deferredEvents != null) {
-			Iterator<Event> deferredIter = deferredEvents.iterator();
-			while (deferredIter.hasNext()) {
+			index = -1;
+			iter = eventSet.eventIterator();
+			while (iter.hasNext()) {
+				index++;
 				if (isShutdown()) {
 					return;
 				}
-				Event event = deferredIter.next();
-				if (event == null) {
+				Event event = iter.nextEvent();
+				if (!deferredEvents[index]) {
 					continue;
 				}
-				// Dispatch events to registered listeners, if any
-				IJDIEventListener listener = fEventHandlers
-						.get(event.request());
+				IJDIEventListener listener = listeners[index];
 				if (listener != null) {
 					vote = true;
 					try {
@@ -249,14 +327,16 @@ public class EventDispatcher implements Runnable {
 		}
 	}
 
-	private boolean requiresExpressionEvaluation(EventSet eventSet) {
-		EventIterator iter = eventSet.eventIterator();
-		while (iter.hasNext()) {
-			Event event = iter.nextEvent();
-			if (event == null) {
-				continue;
-			}
-			IJDIEventListener listener = fEventHandlers.get(event.request());
+	/**
+	 * Returns whether dispatching an event to one of the given listeners may
+	 * evaluate an expression, i.e. a breakpoint condition.
+	 *
+	 * @param listeners
+	 *            listeners of the events of an event set
+	 * @return whether dispatching requires expression evaluation
+	 */
+	private boolean requiresExpressionEvaluation(IJDIEventListener[] listeners) {
+		for (IJDIEventListener listener : listeners) {
 			if (listener instanceof IJavaLineBreakpoint) {
 				try {
 					if (((IJavaLineBreakpoint) listener).isConditionEnabled()) {
@@ -293,6 +373,281 @@ public class EventDispatcher implements Runnable {
 		}
 	}
 
+	/**
+	 * Dispatches queued event sets that require expression evaluation until
+	 * the queue is empty.
+	 */
+	private class EvaluationDispatchJob extends AbstractDispatchJob {
+
+		/**
+		 * Whether this job has been scheduled and has not yet found the queue
+		 * empty. Guarded by the evaluation queue.
+		 */
+		private boolean fActive;
+
+		EvaluationDispatchJob() {
+			super("JDI Expression Evaluation Event Dispatch"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			while (true) {
+				Runnable dispatch;
+				synchronized (fEvaluationQueue) {
+					dispatch = fEvaluationQueue.poll();
+					if (dispatch == null || monitor.isCanceled()) {
+						fActive = false;
+						return Status.OK_STATUS;
+					}
+				}
+				dispatch.run();
+			}
+		}
+	}
+
+	/**
+	 * Dispatches the given event set outside of the event dispatch thread, as
+	 * expressions are always evaluated outside of it to avoid deadlocks (bug
+	 * 269231). The event set is queued for the evaluation dispatch jobs,
+	 * scheduling an idle job if there is one. An event set of a thread that
+	 * is performing an evaluation gets a job of its own instead, as the
+	 * evaluation dispatching an earlier event set may be waiting for it.
+	 *
+	 * @param eventSet
+	 *            event set that requires expression evaluation
+	 * @param listeners
+	 *            listener of each event, see {@link #getListeners(EventSet)}
+	 */
+	private void scheduleEvaluationDispatch(EventSet eventSet, IJDIEventListener[] listeners) {
+		if (isEvaluationPending(eventSet)) {
+			Job job = new AbstractDispatchJob("JDI Expression Evaluation Event Dispatch") { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					dispatch(eventSet, listeners);
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.schedule();
+			return;
+		}
+		synchronized (fEvaluationQueue) {
+			fEvaluationQueue.add(() -> dispatch(eventSet, listeners));
+			for (int i = 0; i < fEvaluationJobs.length; i++) {
+				if (fEvaluationJobs[i] == null) {
+					fEvaluationJobs[i] = new EvaluationDispatchJob();
+				}
+				if (!fEvaluationJobs[i].fActive) {
+					fEvaluationJobs[i].fActive = true;
+					fEvaluationJobs[i].schedule();
+					return;
+				}
+			}
+			// all jobs are busy, one of them will pick the event set up
+		}
+	}
+
+	/**
+	 * Returns whether an event of the given event set occurred in a thread
+	 * that is performing an evaluation or invoking a method.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return whether the event set occurred during an evaluation
+	 */
+	private boolean isEvaluationPending(EventSet eventSet) {
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			if (event instanceof LocatableEvent) {
+				JDIThread thread = fTarget.findThread(((LocatableEvent) event).thread());
+				if (thread != null && (thread.isPerformingEvaluation() || thread.isInvokingMethod())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Dispatches the event sets queued in a lane, in order. Event sets that
+	 * require expression evaluation are handed to the evaluation dispatch
+	 * when their turn comes, so that they are ordered after the earlier event
+	 * sets of their thread without blocking the lane.
+	 */
+	private class DispatchLaneJob extends AbstractDispatchJob {
+
+		/**
+		 * Dispatches of event sets waiting to run. Guarded by the lanes.
+		 */
+		private final Deque<Runnable> fQueue = new ArrayDeque<>();
+
+		/**
+		 * Whether this job has been scheduled and has not yet found its queue
+		 * empty. Guarded by the lanes.
+		 */
+		private boolean fActive;
+
+		DispatchLaneJob() {
+			super("JDI Event Dispatch Lane"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			while (true) {
+				Runnable dispatch;
+				synchronized (fLanes) {
+					dispatch = fQueue.poll();
+					if (dispatch == null || monitor.isCanceled()) {
+						fActive = false;
+						return Status.OK_STATUS;
+					}
+				}
+				try {
+					dispatch.run();
+				} finally {
+					synchronized (fLanes) {
+						fLanePendingCount--;
+						fLanes.notifyAll();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Queues the dispatch of an event set in the lane of the given thread.
+	 *
+	 * @param thread
+	 *            the thread all events of the event set belong to
+	 * @param dispatch
+	 *            dispatches the event set
+	 */
+	private void queueLaneDispatch(ThreadReference thread, Runnable dispatch) {
+		synchronized (fLanes) {
+			int index = Math.floorMod(Long.hashCode(thread.uniqueID()), fLanes.length);
+			if (fLanes[index] == null) {
+				fLanes[index] = new DispatchLaneJob();
+			}
+			DispatchLaneJob lane = fLanes[index];
+			lane.fQueue.add(dispatch);
+			fLanePendingCount++;
+			if (!lane.fActive) {
+				lane.fActive = true;
+				lane.schedule();
+			}
+		}
+	}
+
+	/**
+	 * Waits until all event sets queued in lanes have been dispatched or this
+	 * dispatcher is shutdown. Expressions are evaluated in jobs of their own
+	 * rather than in lanes, so like the event dispatch thread, lanes do not
+	 * wait for later event sets.
+	 *
+	 * @param stop
+	 *            whether to discard the event sets that lanes have not
+	 *            started to dispatch, as the VM is terminating
+	 * @throws InterruptedException
+	 *             if the waiting thread is interrupted
+	 */
+	private void awaitLanes(boolean stop) throws InterruptedException {
+		synchronized (fLanes) {
+			if (stop) {
+				for (DispatchLaneJob lane : fLanes) {
+					if (lane != null) {
+						fLanePendingCount -= lane.fQueue.size();
+						lane.fQueue.clear();
+					}
+				}
+			}
+			while (fLanePendingCount > 0 && !isShutdown()) {
+				fLanes.wait();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given event set must wait for the event sets queued
+	 * in lanes before it is dispatched: VM level events and event sets that
+	 * suspend all threads.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return whether the event set is a barrier for the lanes
+	 */
+	private static boolean isLaneBarrier(EventSet eventSet) {
+		if (eventSet.suspendPolicy() == EventRequest.SUSPEND_ALL || isVMTermination(eventSet)) {
+			return true;
+		}
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			if (iter.nextEvent() instanceof VMStartEvent) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given event set reports the death of the VM or its
+	 * disconnection.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return whether the VM is terminating
+	 */
+	private static boolean isVMTermination(EventSet eventSet) {
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			if (event instanceof VMDeathEvent || event instanceof VMDisconnectEvent) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the thread all events of the given event set belong to, or
+	 * <code>null</code> if the event set is dispatched by the event dispatch
+	 * thread. That is the case for events not belonging to one thread, such
+	 * as VM level events, and for class prepare events, which change the
+	 * breakpoints of all threads and must not wait behind a lane that is
+	 * blocked in a method invocation loading classes.
+	 *
+	 * @param eventSet
+	 *            event set
+	 * @return the thread of the event set or <code>null</code>
+	 */
+	private static ThreadReference getLaneThread(EventSet eventSet) {
+		if (eventSet.suspendPolicy() == EventRequest.SUSPEND_ALL) {
+			return null;
+		}
+		ThreadReference thread = null;
+		EventIterator iter = eventSet.eventIterator();
+		while (iter.hasNext()) {
+			Event event = iter.nextEvent();
+			ThreadReference eventThread;
+			if (event instanceof LocatableEvent) {
+				eventThread = ((LocatableEvent) event).thread();
+			} else if (event instanceof ThreadStartEvent) {
+				eventThread = ((ThreadStartEvent) event).thread();
+			} else if (event instanceof ThreadDeathEvent) {
+				eventThread = ((ThreadDeathEvent) event).thread();
+			} else {
+				return null;
+			}
+			if (eventThread == null || (thread != null && !thread.equals(eventThread))) {
+				return null;
+			}
+			thread = eventThread;
+		}
+		return thread;
+	}
+
 	/**
 	 * Continuously reads events that are coming from the event queue, until
 	 * this event dispatcher is shutdown. A debug target starts a thread on this
@@ -304,6 +659,11 @@ public class EventDispatcher implements Runnable {
 	public void run() {
 		VirtualMachine vm = fTarget.getVM();
 		if (vm != null) {
+			boolean parallel = Platform.getPreferencesService().getBoolean(
+					JDIDebugPlugin.getUniqueIdentifier(),
+					JDIDebugPlugin.PREF_PARALLEL_EVENT_DISPATCH,
+					false,
+					null);
 			EventQueue q = vm.eventQueue();
 			while (!isShutdown()) {
 				try {
@@ -316,19 +676,23 @@ public class EventDispatcher implements Runnable {
 					}
 
 					if (eventSet != null) {
-						if (!requiresExpressionEvaluation(eventSet)) {
-							dispatch(eventSet);
+						IJDIEventListener[] listeners = getListeners(eventSet);
+						boolean evaluation = fLineBreakpointHandlerCount.get() > 0
+								&& requiresExpressionEvaluation(listeners);
+						ThreadReference thread = parallel ? getLaneThread(eventSet) : null;
+						if (thread != null) {
+							// evaluations are ordered after the earlier event
+							// sets of their thread, e.g. its thread start
+							queueLaneDispatch(thread, evaluation ? () -> scheduleEvaluationDispatch(eventSet, listeners) : () -> dispatch(eventSet, listeners));
 						} else {
-							// 269231 always evaluate expressions in a separate job to avoid deadlocks
-							Job job = new AbstractDispatchJob("JDI Expression Evaluation Event Dispatch") { //$NON-NLS-1$
-								@Override
-								protected IStatus run(IProgressMonitor monitor) {
-									dispatch(eventSet);
-									return Status.OK_STATUS;
-								}
-							};
-							job.setSystem(true);
-							job.schedule();
+							if (parallel && isLaneBarrier(eventSet)) {
+								awaitLanes(isVMTermination(eventSet));
+							}
+							if (evaluation) {
+								scheduleEvaluationDispatch(eventSet, listeners);
+							} else {
+								dispatch(eventSet, listeners);
+							}
 						}
 					}
 				} catch (InterruptedException e) {
@@ -346,6 +710,9 @@ public class EventDispatcher implements Runnable {
 	public void shutdown() {
 		fShutdown = true;
 		Job.getJobManager().cancel(this);
+		synchronized (fLanes) {
+			fLanes.notifyAll();
+		}
 	}
 
 	/**
@@ -370,7 +737,13 @@ public class EventDispatcher implements Runnable {
 	 */
 	public void addJDIEventListener(IJDIEventListener listener,
 			EventRequest request) {
-		fEventHandlers.put(request, listener);
+		if (listener instanceof IJavaLineBreakpoint) {
+			fLineBreakpointHandlerCount.incrementAndGet();
+		}
+		IJDIEventListener previous = fEventHandlers.put(request, listener);
+		if (previous instanceof IJavaLineBreakpoint) {
+			fLineBreakpointHandlerCount.decrementAndGet();
+		}
 	}
 
 	/**
@@ -384,7 +757,10 @@ public class EventDispatcher implements Runnable {
 	 *            the event request to de-register
 	 */
 	public void removeJDIEventListener(IJDIEventListener listener, EventRequest request) {
-		fEventHandlers.remove(request);
+		IJDIEventListener previous = fEventHandlers.remove(request);
+		if (previous instanceof IJavaLineBreakpoint) {
+			fLineBreakpointHandlerCount.decrementAndGet();
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -118,6 +118,85 @@ public class JDIDebugPlugin extends Plugin implements IEclipsePreferences.IPrefe
 	public static final String PREF_ENABLE_ADVANCED_SOURCELOOKUP = JDIDebugPlugin
 			.getUniqueIdentifier() + ".enable_advanced_sourcelookup"; //$NON-NLS-1$
 
+	/**
+	 * Integer preference determining the number of array values that are
+	 * retrieved from the target at once when array entries are displayed
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_ARRAY_VALUE_BLOCK_SIZE = JDIDebugPlugin
+			.getUniqueIdentifier() + ".array_value_block_size"; //$NON-NLS-1$
+
+	/**
+	 * The default value for {@link #PREF_ARRAY_VALUE_BLOCK_SIZE} when no
+	 * preference is set.
+	 *
+	 * @since 3.21
+	 */
+	public static final int DEF_ARRAY_VALUE_BLOCK_SIZE = 256;
+
+	/**
+	 * Integer preference determining the time in milliseconds a breakpoint
+	 * condition may take to evaluate before the evaluation is terminated and
+	 * the thread suspends, or <code>0</code> for no limit
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_CONDITION_EVALUATION_TIMEOUT = JDIDebugPlugin
+			.getUniqueIdentifier() + ".condition_evaluation_timeout"; //$NON-NLS-1$
+
+	/**
+	 * The default value for {@link #PREF_CONDITION_EVALUATION_TIMEOUT} when no
+	 * preference is set.
+	 *
+	 * @since 3.21
+	 */
+	public static final int DEF_CONDITION_EVALUATION_TIMEOUT = 10000;
+
+	/**
+	 * Boolean preference determining whether the threads running when
+	 * attaching to a VM are added without first determining whether they are
+	 * system or daemon threads, which is then done on first access or in the
+	 * background
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_LAZY_THREAD_INITIALIZATION = JDIDebugPlugin
+			.getUniqueIdentifier() + ".lazy_thread_initialization"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference determining whether the JDI events of different
+	 * threads are dispatched in parallel, keeping the order of the events of
+	 * each thread. Takes effect for new debug targets.
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_PARALLEL_EVENT_DISPATCH = JDIDebugPlugin
+			.getUniqueIdentifier() + ".parallel_event_dispatch"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference determining whether evaluations performed while all
+	 * threads of the target are suspended defer disabling garbage collection
+	 * of interim results until the evaluation runs code in the target, as
+	 * nothing can be collected before then
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_DEFER_EVALUATION_GC_PINNING = JDIDebugPlugin
+			.getUniqueIdentifier() + ".defer_evaluation_gc_pinning"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference determining whether method exit breakpoints on a
+	 * specific method are installed as breakpoints on the return instructions
+	 * of the method instead of a request reporting every method exit in its
+	 * type. Such breakpoints do not show the returned value. Methods throwing
+	 * exceptions themselves keep the request reporting every method exit.
+	 *
+	 * @since 3.21
+	 */
+	public static final String PREF_BYTECODE_METHOD_EXIT_BREAKPOINTS = JDIDebugPlugin
+			.getUniqueIdentifier() + ".bytecode_method_exit_breakpoints"; //$NON-NLS-1$
+
 	/**
 	 * Extension point for java logical structures.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2018 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,5 +50,11 @@ public class JDIDebugPluginPreferenceInitializer extends
 		node.putBoolean(JDIDebugModel.PREF_SHOW_STEP_RESULT_REMOTE, false);
 		node.putInt(JDIDebugModel.PREF_SHOW_STEP_TIMEOUT, JDIDebugModel.DEF_SHOW_STEP_TIMEOUT);
 		node.putBoolean(JDIDebugPlugin.PREF_ENABLE_ADVANCED_SOURCELOOKUP, true);
+		node.putInt(JDIDebugPlugin.PREF_ARRAY_VALUE_BLOCK_SIZE, JDIDebugPlugin.DEF_ARRAY_VALUE_BLOCK_SIZE);
+		node.putInt(JDIDebugPlugin.PREF_CONDITION_EVALUATION_TIMEOUT, JDIDebugPlugin.DEF_CONDITION_EVALUATION_TIMEOUT);
+		node.putBoolean(JDIDebugPlugin.PREF_LAZY_THREAD_INITIALIZATION, false);
+		node.putBoolean(JDIDebugPlugin.PREF_PARALLEL_EVENT_DISPATCH, false);
+		node.putBoolean(JDIDebugPlugin.PREF_DEFER_EVALUATION_GC_PINNING, false);
+		node.putBoolean(JDIDebugPlugin.PREF_BYTECODE_METHOD_EXIT_BREAKPOINTS, false);
 	}
 }
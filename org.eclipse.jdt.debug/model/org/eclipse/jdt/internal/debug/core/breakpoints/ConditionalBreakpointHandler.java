@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2020 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,12 @@
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
 import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
@@ -37,6 +40,7 @@ import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
 import org.eclipse.jdt.debug.eval.IEvaluationListener;
 import org.eclipse.jdt.debug.eval.IEvaluationResult;
+import org.eclipse.jdt.internal.debug.core.JDIDebugOptions;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDINullValue;
@@ -52,6 +56,16 @@ import com.sun.jdi.VMDisconnectedException;
  */
 public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 
+	/**
+	 * Counters of condition evaluations of all conditional breakpoints: hits,
+	 * results and total evaluation time in nanoseconds.
+	 */
+	private static final LongAdder fgHitCount = new LongAdder();
+	private static final LongAdder fgTrueCount = new LongAdder();
+	private static final LongAdder fgFalseCount = new LongAdder();
+	private static final LongAdder fgErrorCount = new LongAdder();
+	private static final LongAdder fgEvaluationTime = new LongAdder();
+
 	/**
 	 * Whether the condition had compile or runtime errors
 	 */
@@ -80,18 +94,97 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 		 */
 		private int fVote;
 
+		/**
+		 * Whether the evaluation has completed
+		 */
+		private boolean fComplete;
+
+		/**
+		 * Whether the result of the evaluation is being processed
+		 */
+		private boolean fResultReceived;
+
+		/**
+		 * Whether the evaluation was abandoned, its result is then ignored
+		 */
+		private boolean fAbandoned;
+
+		/**
+		 * Whether the evaluation reported an error
+		 */
+		private boolean fFailed;
+
 		EvaluationListener(JavaLineBreakpoint breakpoint) {
 			fBreakpoint = breakpoint;
 		}
 
 		@Override
 		public void evaluationComplete(IEvaluationResult result) {
-			fVote = determineVote(result);
 			synchronized (fLock) {
+				if (fAbandoned) {
+					fComplete = true;
+					fLock.notifyAll();
+					return;
+				}
+				fResultReceived = true;
+			}
+			int vote = determineVote(result);
+			synchronized (fLock) {
+				fVote = vote;
+				fComplete = true;
 				fLock.notifyAll();
 			}
 		}
 
+		/**
+		 * Abandons the evaluation so that its result is ignored, unless the
+		 * result is already being processed. Must be called while holding the
+		 * lock of this listener.
+		 *
+		 * @return whether the evaluation was abandoned
+		 */
+		boolean abandon() {
+			if (fResultReceived) {
+				return false;
+			}
+			fAbandoned = true;
+			return true;
+		}
+
+		/**
+		 * @return whether the evaluation reported an error
+		 */
+		boolean hasFailed() {
+			return fFailed;
+		}
+
+		/**
+		 * Waits for the evaluation to complete. Must be called while holding
+		 * the lock of this listener.
+		 *
+		 * @param timeout
+		 *            the time to wait in milliseconds, or <code>0</code> to
+		 *            wait until the evaluation completes
+		 * @return whether the evaluation completed
+		 * @throws InterruptedException
+		 *             if the waiting thread is interrupted
+		 */
+		boolean waitForVote(long timeout) throws InterruptedException {
+			if (timeout <= 0) {
+				while (!fComplete) {
+					fLock.wait();
+				}
+				return true;
+			}
+			long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+			long remaining = timeout;
+			while (!fComplete && remaining > 0) {
+				fLock.wait(remaining);
+				remaining = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime());
+			}
+			return fComplete;
+		}
+
 		/**
 		 * Processes the result to determine whether to suspend or resume.
 		 *
@@ -116,6 +209,7 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 					// VM terminated/disconnected during evaluation
 					return DONT_SUSPEND;
 				}
+				fFailed = true;
 				fireConditionHasRuntimeErrors(fBreakpoint, exception);
 				return SUSPEND;
 			}
@@ -150,6 +244,7 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 							JDIDebugPlugin.getUniqueIdentifier(),
 							MessageFormat.format(JDIDebugBreakpointMessages.ConditionalBreakpointHandler_1, value.getReferenceTypeName()));
 					// result was not JDIValue
+					fFailed = true;
 					fireConditionHasRuntimeErrors(fBreakpoint, new DebugException(status));
 					return SUSPEND;
 				}
@@ -206,64 +301,14 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 	public int breakpointHit(IJavaThread thread, IJavaBreakpoint breakpoint) {
 		if (breakpoint instanceof IJavaLineBreakpoint) {
 			JavaLineBreakpoint lineBreakpoint = (JavaLineBreakpoint) breakpoint;
+			long start = System.nanoTime();
 			try {
 				final String condition = lineBreakpoint.getCondition();
 				if (condition == null) {
 					return SUSPEND;
 				}
-				EvaluationListener listener = new EvaluationListener(
-						lineBreakpoint);
-				IJavaStackFrame frame = (IJavaStackFrame) thread
-						.getTopStackFrame();
-				IJavaProject project = lineBreakpoint.getJavaProject(frame);
-				if (project == null) {
-					fireConditionHasErrors(
-							lineBreakpoint,
-							new Message[] { new Message(
-									JDIDebugBreakpointMessages.JavaLineBreakpoint_Unable_to_compile_conditional_breakpoint___missing_Java_project_context__1,
-									-1) });
-					return SUSPEND;
-				}
-				IJavaDebugTarget target = (IJavaDebugTarget) thread
-						.getDebugTarget();
-				IAstEvaluationEngine engine = getEvaluationEngine(target,
-						project);
-				if (engine == null) {
-					// If no engine is available, suspend
-					return SUSPEND;
-				}
-				ICompiledExpression expression = lineBreakpoint
-						.getExpression(thread);
-				if (expression == null) {
-					expression = engine.getCompiledExpression(condition, frame);
-					lineBreakpoint.setExpression(thread, expression);
-				}
-				if (expression.hasErrors()) {
-					fireConditionHasErrors(lineBreakpoint,
-							getMessages(expression));
-					return SUSPEND;
-				}
-				Object lock = listener.getLock();
-				synchronized (lock) {
-					engine.evaluateExpression(expression, frame, listener,
-							DebugEvent.EVALUATION_IMPLICIT, false);
-					// TODO: timeout?
-					try {
-						lock.wait();
-					} catch (InterruptedException e) {
-						fireConditionHasRuntimeErrors(
-								lineBreakpoint,
-								new DebugException(
-										new Status(
-												IStatus.ERROR,
-												JDIDebugPlugin
-														.getUniqueIdentifier(),
-												JDIDebugBreakpointMessages.ConditionalBreakpointHandler_0,
-												e)));
-						return SUSPEND;
-					}
-				}
-				return listener.getVote();
+				fgHitCount.increment();
+				return evaluateCondition(thread, lineBreakpoint, condition);
 			} catch (CoreException e) {
 				DebugException de = null;
 				if (e instanceof DebugException) {
@@ -272,11 +317,114 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 					de = new DebugException(e.getStatus());
 				}
 				fireConditionHasRuntimeErrors(lineBreakpoint, de);
+			} finally {
+				long time = System.nanoTime() - start;
+				fgEvaluationTime.add(time);
+				if (JDIDebugOptions.DEBUG_AST_EVAL) {
+					JDIDebugOptions.trace("Condition evaluation of " + lineBreakpoint + " took " + TimeUnit.NANOSECONDS.toMillis(time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
 			}
 		}
 		return SUSPEND;
 	}
 
+	/**
+	 * Evaluates the condition of the given breakpoint in the top frame of the
+	 * given thread, waiting at most for the condition evaluation time budget.
+	 *
+	 * @param thread
+	 *            the thread the breakpoint was hit in
+	 * @param lineBreakpoint
+	 *            the breakpoint that was hit
+	 * @param condition
+	 *            the condition of the breakpoint
+	 * @return whether to suspend
+	 * @throws CoreException
+	 *             if the condition cannot be evaluated
+	 */
+	private int evaluateCondition(IJavaThread thread, JavaLineBreakpoint lineBreakpoint, String condition) throws CoreException {
+		EvaluationListener listener = new EvaluationListener(
+				lineBreakpoint);
+		IJavaStackFrame frame = (IJavaStackFrame) thread
+				.getTopStackFrame();
+		IJavaProject project = lineBreakpoint.getJavaProject(frame);
+		if (project == null) {
+			fireConditionHasErrors(
+					lineBreakpoint,
+					new Message[] { new Message(
+							JDIDebugBreakpointMessages.JavaLineBreakpoint_Unable_to_compile_conditional_breakpoint___missing_Java_project_context__1,
+							-1) });
+			return SUSPEND;
+		}
+		IJavaDebugTarget target = (IJavaDebugTarget) thread
+				.getDebugTarget();
+		IAstEvaluationEngine engine = getEvaluationEngine(target,
+				project);
+		if (engine == null) {
+			// If no engine is available, suspend
+			return SUSPEND;
+		}
+		ICompiledExpression expression = lineBreakpoint.getExpression(
+				engine, frame, condition);
+		if (expression.hasErrors()) {
+			fireConditionHasErrors(lineBreakpoint,
+					getMessages(expression));
+			return SUSPEND;
+		}
+		int timeout = Platform.getPreferencesService().getInt(
+				JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_CONDITION_EVALUATION_TIMEOUT,
+				JDIDebugPlugin.DEF_CONDITION_EVALUATION_TIMEOUT,
+				null);
+		Object lock = listener.getLock();
+		synchronized (lock) {
+			engine.evaluateExpression(expression, frame, listener,
+					DebugEvent.EVALUATION_IMPLICIT, false);
+			try {
+				if (!listener.waitForVote(timeout)) {
+					if (!listener.abandon()) {
+						// the result arrived while the wait timed out
+						listener.waitForVote(0);
+						return listener.getVote();
+					}
+					// do not hold up event dispatch for a slow or hanging
+					// condition, a method invocation hung in the target may
+					// never return and its late result is ignored
+					thread.terminateEvaluation();
+					fireConditionHasRuntimeErrors(
+							lineBreakpoint,
+							new DebugException(
+									new Status(
+											IStatus.ERROR,
+											JDIDebugPlugin
+													.getUniqueIdentifier(),
+											MessageFormat.format(JDIDebugBreakpointMessages.ConditionalBreakpointHandler_2, Integer.toString(timeout)))));
+					return SUSPEND;
+				}
+			} catch (InterruptedException e) {
+				fireConditionHasRuntimeErrors(
+						lineBreakpoint,
+						new DebugException(
+								new Status(
+										IStatus.ERROR,
+										JDIDebugPlugin
+												.getUniqueIdentifier(),
+										JDIDebugBreakpointMessages.ConditionalBreakpointHandler_0,
+										e)));
+				return SUSPEND;
+			}
+		}
+		int vote = listener.getVote();
+		if (!listener.hasFailed()) {
+			if (vote == DONT_SUSPEND) {
+				fgFalseCount.increment();
+			} else {
+				fgTrueCount.increment();
+			}
+		}
+		return vote;
+	}
+
 	@Override
 	public void breakpointInstalled(IJavaDebugTarget target,
 			IJavaBreakpoint breakpoint) {
@@ -306,6 +454,7 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 
 	private void fireConditionHasRuntimeErrors(IJavaLineBreakpoint breakpoint, DebugException exception) {
 		fHasErrors = true;
+		fgErrorCount.increment();
 		JDIDebugPlugin.getDefault().fireBreakpointHasRuntimeException(breakpoint, exception);
 	}
 
@@ -317,6 +466,7 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 	 */
 	private void fireConditionHasErrors(IJavaLineBreakpoint breakpoint, Message[] messages) {
 		fHasErrors = true;
+		fgErrorCount.increment();
 		JDIDebugPlugin.getDefault().fireBreakpointHasCompilationErrors(breakpoint, messages);
 	}
 
@@ -344,4 +494,40 @@ public class ConditionalBreakpointHandler implements IJavaBreakpointListener {
 	public boolean hasErrors() {
 		return fHasErrors;
 	}
+
+	/**
+	 * @return the number of times a breakpoint with a condition was hit
+	 */
+	public static long getHitCount() {
+		return fgHitCount.sum();
+	}
+
+	/**
+	 * @return the number of condition evaluations that voted to suspend
+	 */
+	public static long getTrueCount() {
+		return fgTrueCount.sum();
+	}
+
+	/**
+	 * @return the number of condition evaluations that voted to resume
+	 */
+	public static long getFalseCount() {
+		return fgFalseCount.sum();
+	}
+
+	/**
+	 * @return the number of condition evaluations that failed, including
+	 *         evaluations that exceeded the time budget
+	 */
+	public static long getErrorCount() {
+		return fgErrorCount.sum();
+	}
+
+	/**
+	 * @return the total time spent in condition evaluations, in milliseconds
+	 */
+	public static long getEvaluationTime() {
+		return TimeUnit.NANOSECONDS.toMillis(fgEvaluationTime.sum());
+	}
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.breakpoints;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+/**
+ * Index of the class filters of exception breakpoints by exception type name.
+ * <p>
+ * An exception event is subject to the class filters of the first exception
+ * breakpoint for the thrown type that has filters. A debug target maintains
+ * this index from breakpoint manager notifications, so that exception events
+ * look up the filters of the thrown type instead of scanning all breakpoints
+ * and reading their marker attributes.
+ * </p>
+ */
+public class ExceptionBreakpointIndex {
+
+	/**
+	 * Class filters of exception breakpoints with filters, by exception type
+	 * name. Lists are not modified once published.
+	 */
+	private final Map<String, List<ClassFilters>> fFilters = new ConcurrentHashMap<>();
+
+	/**
+	 * Updates this index for an exception breakpoint that has been added to or
+	 * changed in the breakpoint manager.
+	 *
+	 * @param breakpoint
+	 *            the added or changed breakpoint
+	 */
+	public synchronized void breakpointChanged(JavaExceptionBreakpoint breakpoint) {
+		String typeName = null;
+		ClassFilters filters = null;
+		try {
+			if (breakpoint.getMarker() != null && breakpoint.getMarker().exists()) {
+				typeName = breakpoint.getTypeName();
+				String[] inclusionFilters = breakpoint.getInclusionClassFilters();
+				String[] exclusionFilters = breakpoint.getExclusionClassFilters();
+				if (typeName != null && (inclusionFilters.length > 0 || exclusionFilters.length > 0)) {
+					filters = new ClassFilters(breakpoint, inclusionFilters, exclusionFilters);
+				}
+			}
+		} catch (CoreException e) {
+			JDIDebugPlugin.log(e);
+		}
+		if (!replace(breakpoint, typeName, filters) && filters != null) {
+			List<ClassFilters> list = new ArrayList<>(fFilters.getOrDefault(typeName, Collections.emptyList()));
+			list.add(filters);
+			fFilters.put(typeName, Collections.unmodifiableList(list));
+		}
+	}
+
+	/**
+	 * Updates this index for an exception breakpoint that has been removed
+	 * from the breakpoint manager.
+	 *
+	 * @param breakpoint
+	 *            the removed breakpoint
+	 */
+	public synchronized void breakpointRemoved(JavaExceptionBreakpoint breakpoint) {
+		replace(breakpoint, null, null);
+	}
+
+	/**
+	 * Removes the filters of the given breakpoint from this index, or replaces
+	 * them in place with the given filters when they are indexed under the
+	 * given type name.
+	 *
+	 * @return whether the filters of the breakpoint were replaced
+	 */
+	private boolean replace(JavaExceptionBreakpoint breakpoint, String typeName, ClassFilters filters) {
+		boolean replaced = false;
+		Iterator<Map.Entry<String, List<ClassFilters>>> entries = fFilters.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<String, List<ClassFilters>> entry = entries.next();
+			List<ClassFilters> list = entry.getValue();
+			for (int i = 0; i < list.size(); i++) {
+				if (list.get(i).fBreakpoint == breakpoint) {
+					List<ClassFilters> copy = new ArrayList<>(list);
+					if (filters != null && entry.getKey().equals(typeName)) {
+						copy.set(i, filters);
+						replaced = true;
+					} else {
+						copy.remove(i);
+					}
+					if (copy.isEmpty()) {
+						entries.remove();
+					} else {
+						entry.setValue(Collections.unmodifiableList(copy));
+					}
+					break;
+				}
+			}
+		}
+		return replaced;
+	}
+
+	/**
+	 * Returns the class filters that apply to exceptions of the given type or
+	 * <code>null</code> if no exception breakpoint for the type has filters.
+	 *
+	 * @param exceptionTypeName
+	 *            fully qualified name of the thrown exception type
+	 * @return the class filters or <code>null</code>
+	 */
+	public ClassFilters getClassFilters(String exceptionTypeName) {
+		List<ClassFilters> list = fFilters.get(exceptionTypeName);
+		return list == null ? null : list.get(0);
+	}
+
+	/**
+	 * The inclusion and exclusion class filters of an exception breakpoint,
+	 * compiled to patterns.
+	 */
+	public static class ClassFilters {
+
+		private final JavaExceptionBreakpoint fBreakpoint;
+		private final Pattern[] fInclusionPatterns;
+		private final Pattern[] fExclusionPatterns;
+		private final boolean fInclusionDefaultPackage;
+		private final boolean fExclusionDefaultPackage;
+
+		ClassFilters(JavaExceptionBreakpoint breakpoint, String[] inclusionFilters, String[] exclusionFilters) {
+			fBreakpoint = breakpoint;
+			fInclusionPatterns = compile(inclusionFilters);
+			fExclusionPatterns = compile(exclusionFilters);
+			fInclusionDefaultPackage = containsDefaultPackage(inclusionFilters);
+			fExclusionDefaultPackage = containsDefaultPackage(exclusionFilters);
+		}
+
+		/**
+		 * Returns whether exceptions thrown in the given type pass these
+		 * filters, as {@link JavaExceptionBreakpoint#matchesFilters(String[], String, boolean)}
+		 * would decide.
+		 *
+		 * @param typeName
+		 *            fully qualified name of the type throwing the exception
+		 * @return whether the exception passes the filters
+		 */
+		public boolean matches(String typeName) {
+			boolean defaultPackage = typeName.indexOf('.') == -1;
+			boolean included = true;
+			if (fInclusionPatterns.length > 0) {
+				included = matches(fInclusionPatterns, fInclusionDefaultPackage, typeName, defaultPackage);
+			}
+			return included && !(fExclusionPatterns.length > 0
+					&& matches(fExclusionPatterns, fExclusionDefaultPackage, typeName, defaultPackage));
+		}
+
+		private static boolean matches(Pattern[] patterns, boolean includesDefaultPackage, String typeName, boolean defaultPackage) {
+			if (defaultPackage && includesDefaultPackage) {
+				return true;
+			}
+			for (Pattern pattern : patterns) {
+				if (pattern.matcher(typeName).find()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static Pattern[] compile(String[] filters) {
+			Pattern[] patterns = new Pattern[filters.length];
+			for (int i = 0; i < filters.length; i++) {
+				String filter = filters[i].replaceAll("\\.", "\\\\."); //$NON-NLS-1$//$NON-NLS-2$
+				filter = filter.replaceAll("\\*", "\\.\\*"); //$NON-NLS-1$//$NON-NLS-2$
+				patterns[i] = Pattern.compile(filter);
+			}
+			return patterns;
+		}
+
+		private static boolean containsDefaultPackage(String[] filters) {
+			for (String filter : filters) {
+				if (filter.length() == 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
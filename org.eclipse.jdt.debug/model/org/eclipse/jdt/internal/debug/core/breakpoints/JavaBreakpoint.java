@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,11 +41,13 @@ import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.model.ClassPrepareMultiplexer;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIObjectValue;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.JDIType;
 
+import com.sun.jdi.Locatable;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
@@ -57,6 +59,7 @@ import com.sun.jdi.event.LocatableEvent;
 import com.sun.jdi.request.ClassPrepareRequest;
 import com.sun.jdi.request.EventRequest;
 import com.sun.jdi.request.EventRequestManager;
+import com.sun.jdi.request.WatchpointRequest;
 
 public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoint, IJDIEventListener, IDebugEventSetListener {
 
@@ -242,6 +245,87 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		}
 	}
 
+	/**
+	 * Listens to classes prepared in the given target that match the given
+	 * patterns, through a class prepare request shared with the other
+	 * breakpoints in the target interested in the same classes, unless this
+	 * breakpoint does not share class prepare requests.
+	 *
+	 * @param target
+	 *            the target to listen to
+	 * @param classPattern
+	 *            pattern of class names
+	 * @param classExclusionPattern
+	 *            pattern of excluded class names or <code>null</code>
+	 * @param sourceName
+	 *            source name pattern or <code>null</code>
+	 * @return the class prepare request
+	 * @throws CoreException
+	 *             if unable to create the request
+	 */
+	protected ClassPrepareRequest registerClassPrepareRequest(JDIDebugTarget target, String classPattern, String classExclusionPattern, String sourceName) throws CoreException {
+		if (!sharesClassPrepareRequests()) {
+			ClassPrepareRequest request = target.createClassPrepareRequest(classPattern, classExclusionPattern, true, sourceName);
+			registerRequest(request, target);
+			return request;
+		}
+		ClassPrepareRequest request = target.getClassPrepareMultiplexer().addListener(this, classPattern, classExclusionPattern, sourceName);
+		List<EventRequest> reqs = getRequests(target);
+		if (reqs.isEmpty()) {
+			fRequestsByTarget.put(target, reqs);
+		}
+		if (!reqs.contains(request)) {
+			reqs.add(request);
+		}
+		return request;
+	}
+
+	/**
+	 * Returns whether this breakpoint listens to class prepare events through
+	 * requests shared with other breakpoints. Events of shared requests are
+	 * not dispatched to this breakpoint as its own events. The breakpoint's
+	 * requests are recreated when this changes.
+	 *
+	 * @return whether this breakpoint shares class prepare requests
+	 * @throws CoreException
+	 *             if unable to access the breakpoint's attributes
+	 */
+	protected boolean sharesClassPrepareRequests() throws CoreException {
+		return true;
+	}
+
+	/**
+	 * Returns the given classes without the classes this breakpoint has
+	 * already created a request in for the given target, for instance when
+	 * handling their class prepare events.
+	 *
+	 * @param target
+	 *            the target of the classes
+	 * @param classes
+	 *            loaded classes
+	 * @return the classes this breakpoint has no request in
+	 */
+	public List<ReferenceType> getClassesWithoutRequests(JDIDebugTarget target, List<ReferenceType> classes) {
+		Set<ReferenceType> types = new HashSet<>();
+		for (EventRequest request : new ArrayList<>(getRequests(target))) {
+			if (request instanceof Locatable) {
+				types.add(((Locatable) request).location().declaringType());
+			} else if (request instanceof WatchpointRequest) {
+				types.add(((WatchpointRequest) request).field().declaringType());
+			}
+		}
+		if (types.isEmpty()) {
+			return classes;
+		}
+		List<ReferenceType> result = new ArrayList<>(classes.size());
+		for (ReferenceType type : classes) {
+			if (!types.contains(type)) {
+				result.add(type);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Returns a String corresponding to the reference type name to the top
 	 * enclosing type in which this breakpoint is located or <code>null</code>
@@ -278,6 +362,14 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 	 */
 	protected void deregisterRequest(EventRequest request, JDIDebugTarget target)
 			throws CoreException {
+		if (request instanceof ClassPrepareRequest) {
+			target.getLoadedClassIndex().removeListener(this, request);
+		}
+		ClassPrepareMultiplexer multiplexer = target.getClassPrepareMultiplexer();
+		if (multiplexer.isShared(request)) {
+			multiplexer.removeListener(this, request);
+			return;
+		}
 		target.removeJDIEventListener(this, request);
 		// A request may be getting de-registered because the breakpoint has
 		// been deleted. It may be that this occurred because of a marker
@@ -628,23 +720,42 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		}
 		// create request to listen to class loads
 		if (referenceTypeName.indexOf('$') == -1) {
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName), target);
+			registerClassPrepareRequest(target, enclosingTypeName, null, null);
 			// register to ensure we hear about local and anonymous inner
 			// classes
-			registerRequest(
-					target.createClassPrepareRequest(enclosingTypeName + "$*"), target); //$NON-NLS-1$
+			registerClassPrepareRequest(target, enclosingTypeName + "$*", null, null); //$NON-NLS-1$
 		} else {
-			registerRequest(
-					target.createClassPrepareRequest(referenceTypeName), target);
+			registerClassPrepareRequest(target, referenceTypeName, null, null);
 			// register to ensure we hear about local and anonymous inner
 			// classes
-			registerRequest(target.createClassPrepareRequest(enclosingTypeName
-					+ "$*", referenceTypeName), target); //$NON-NLS-1$
+			registerClassPrepareRequest(target, enclosingTypeName + "$*", referenceTypeName, null); //$NON-NLS-1$
+		}
+
+		// create breakpoint requests for each class currently loaded, in one
+		// batch with other breakpoints while the target installs them
+		if (target.deferClassResolution(this, referenceTypeName)) {
+			return;
 		}
+		createRequests(target, target.jdiClassesByName(referenceTypeName));
+	}
 
-		// create breakpoint requests for each class currently loaded
-		List<ReferenceType> classes = target.jdiClassesByName(referenceTypeName);
+	/**
+	 * Creates breakpoint requests in the given loaded classes of the type of
+	 * this breakpoint, or in its local types if none can be created.
+	 *
+	 * @param target
+	 *            the target
+	 * @param classes
+	 *            the loaded classes with the type name of this breakpoint
+	 * @throws CoreException
+	 *             if unable to create the requests
+	 */
+	public void createRequests(JDIDebugTarget target, List<ReferenceType> classes) throws CoreException {
+		String referenceTypeName = getTypeName();
+		String enclosingTypeName = getEnclosingReferenceTypeName();
+		if (referenceTypeName == null || enclosingTypeName == null) {
+			return;
+		}
 		if (classes.isEmpty() && enclosingTypeName.equals(referenceTypeName)) {
 			return;
 		}
@@ -788,7 +899,8 @@ public abstract class JavaBreakpoint extends Breakpoint implements IJavaBreakpoi
 		while (iter.hasNext()) {
 			req = iter.next();
 			try {
-				if (target.isAvailable() && !isExpired(req)) {
+				if (target.isAvailable() && !isExpired(req)
+						&& !target.getClassPrepareMultiplexer().isShared(req)) {
 					EventRequestManager manager = target
 							.getEventRequestManager();
 					if (manager != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,7 +29,6 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.debug.core.DebugException;
-import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaExceptionBreakpoint;
@@ -186,9 +185,11 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	}
 
 	/**
-	 * Creates a request in the given target to suspend when the given exception
-	 * type is thrown. The request is returned installed, configured, and
-	 * enabled as appropriate for this breakpoint.
+	 * Creates requests in the given target to suspend when the given exception
+	 * type is thrown. One request is created per inclusion class filter that
+	 * the target VM can apply, or a single request otherwise. The requests are
+	 * returned installed, configured, and enabled as appropriate for this
+	 * breakpoint.
 	 */
 	@Override
 	protected EventRequest[] newRequests(JDIDebugTarget target,
@@ -196,7 +197,6 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 		if (!isCaught() && !isUncaught()) {
 			return null;
 		}
-		ExceptionRequest request = null;
 		EventRequestManager manager = target.getEventRequestManager();
 		if (manager == null) {
 			target.requestFailed(
@@ -205,20 +205,90 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 			return null;
 		}
 
+		String[] iFilters = getRequestInclusionFilters();
+		int count = Math.max(1, iFilters.length);
+		List<ExceptionRequest> requests = new ArrayList<>(count);
 		try {
-			request = manager.createExceptionRequest(type, isCaught(),
-					isUncaught());
-			configureRequest(request, target);
+			for (int i = 0; i < count; i++) {
+				ExceptionRequest request = manager.createExceptionRequest(type, isCaught(),
+						isUncaught());
+				requests.add(request);
+				if (iFilters.length > 0) {
+					request.addClassFilter(iFilters[i]);
+				}
+				configureRequest(request, target);
+			}
 		} catch (VMDisconnectedException e) {
 			if (target.isAvailable()) {
 				JDIDebugPlugin.log(e);
 			}
 			return null;
 		} catch (RuntimeException e) {
+			manager.deleteEventRequests(requests);
 			target.internalError(e);
 			return null;
 		}
-		return new EventRequest[] { request };
+		return requests.toArray(new EventRequest[requests.size()]);
+	}
+
+	/**
+	 * Returns the inclusion class filters to apply in the target VM, one
+	 * exception request per filter, or an empty array if the inclusion filters
+	 * are only applied when exception events are handled.
+	 * <p>
+	 * The modifiers of a request all have to match, so inclusion filters are
+	 * split over requests. They are only split when no exception can match two
+	 * requests and be reported twice, and when no hit count has to be shared by
+	 * the requests.
+	 * </p>
+	 */
+	private String[] getRequestInclusionFilters() throws CoreException {
+		String[] filters = getInclusionClassFilters();
+		if (filters.length == 1 && isRequestClassFilter(filters[0])) {
+			return filters;
+		}
+		if (filters.length <= 1 || getHitCount() > 0) {
+			return new String[0];
+		}
+		for (String filter : filters) {
+			if (!isRequestClassFilter(filter) || filter.charAt(0) == '*') {
+				// suffix patterns may overlap with any other filter
+				return new String[0];
+			}
+		}
+		// drop filters matching a subset of another filter, the remaining ones are disjoint
+		List<String> requestFilters = new ArrayList<>(filters.length);
+		for (String filter : filters) {
+			if (!requestFilters.contains(filter) && !isSubsumed(filter, filters)) {
+				requestFilters.add(filter);
+			}
+		}
+		return requestFilters.toArray(new String[requestFilters.size()]);
+	}
+
+	/**
+	 * Returns whether all classes matching the given class filter match
+	 * another, prefix, filter of the given filters.
+	 */
+	private static boolean isSubsumed(String filter, String[] filters) {
+		for (String other : filters) {
+			if (!other.equals(filter) && other.endsWith("*") //$NON-NLS-1$
+					&& filter.startsWith(other.substring(0, other.length() - 1))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given class filter can be applied in the target VM,
+	 * that is whether it is a class name, optionally beginning or ending with
+	 * <code>'*'</code>.
+	 */
+	private static boolean isRequestClassFilter(String filter) {
+		int star = filter.indexOf('*');
+		return filter.length() > 0 && (star == -1
+				|| (star == filter.lastIndexOf('*') && (star == 0 || star == filter.length() - 1)));
 	}
 
 	/**
@@ -403,42 +473,15 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 			}
 			setExceptionName(name);
 			disableTriggerPoint(event);
-			IBreakpoint[] allBreakpoints = DebugPlugin.getDefault().getBreakpointManager().getBreakpoints();
-			for (IBreakpoint iBreakpoint : allBreakpoints) {
-				if (iBreakpoint instanceof JavaExceptionBreakpoint) {
-					JavaExceptionBreakpoint jExceptionBreakpoint = (JavaExceptionBreakpoint)iBreakpoint;
-					try {
-						//This Java Exception breakpoint is the  breakpoint created for catching compilation and Uncaught exception in JavaDebugOptionsManagaer initialization
-						// This does not have scope defined
-						if (jExceptionBreakpoint.getTypeName().equals(name)) {
-							if (jExceptionBreakpoint.getExclusionClassFilters().length >= 1
-						|| jExceptionBreakpoint.getInclusionClassFilters().length >= 1
-						|| filtersIncludeDefaultPackage(jExceptionBreakpoint.fInclusionClassFilters)
-						|| filtersIncludeDefaultPackage(jExceptionBreakpoint.fExclusionClassFilters)) {
-							Location location = ((ExceptionEvent) event).location();
-							String typeName = location.declaringType().name();
-							boolean defaultPackage = typeName.indexOf('.') == -1;
-							boolean included = true;
-							String[] filters = jExceptionBreakpoint.getInclusionClassFilters();
-							if (filters.length > 0) {
-								included = matchesFilters(filters, typeName, defaultPackage);
-							}
-							boolean excluded = false;
-							filters = jExceptionBreakpoint.getExclusionClassFilters();
-							if (filters.length > 0) {
-								excluded = matchesFilters(filters, typeName, defaultPackage);
-							}
-							if (included && !excluded) {
-								return !suspend(thread, suspendVote);
-							}
-							return true;
-							}
-						}
-					}
-					catch (CoreException e) {
-						e.printStackTrace();
-					}
+			// the first exception breakpoint for the thrown type with class filters decides
+			ExceptionBreakpointIndex.ClassFilters filters = name == null ? null
+					: thread.getJavaDebugTarget().getExceptionBreakpointIndex().getClassFilters(name);
+			if (filters != null) {
+				Location location = ((ExceptionEvent) event).location();
+				if (filters.matches(location.declaringType().name())) {
+					return !suspend(thread, suspendVote);
 				}
+				return true;
 			}
 
 			return !suspend(thread, suspendVote);
@@ -591,18 +634,12 @@ public class JavaExceptionBreakpoint extends JavaBreakpoint implements
 	@Override
 	protected void configureRequest(EventRequest eRequest, JDIDebugTarget target)
 			throws CoreException {
-		String[] iFilters = getInclusionClassFilters();
-		String[] eFilters = getExclusionClassFilters();
-
 		ExceptionRequest request = (ExceptionRequest) eRequest;
 
-		if (iFilters.length == 1) {
-			if (eFilters.length == 0) {
-				request.addClassFilter(iFilters[0]);
-			}
-		} else if (eFilters.length == 1) {
-			if (iFilters.length == 0) {
-				request.addClassExclusionFilter(eFilters[0]);
+		// all exclusion filters have to match, other filters are applied when exception events are handled
+		for (String filter : getExclusionClassFilters()) {
+			if (isRequestClassFilter(filter)) {
+				request.addClassExclusionFilter(filter);
 			}
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -34,6 +36,7 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IStatusHandler;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.core.model.IThread;
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.jdi.internal.AccessibleImpl;
 import org.eclipse.jdt.core.IJavaProject;
@@ -41,12 +44,14 @@ import org.eclipse.jdt.debug.core.IJavaLineBreakpoint;
 import org.eclipse.jdt.debug.core.IJavaStackFrame;
 import org.eclipse.jdt.debug.core.IJavaThread;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
+import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIStackFrame;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
+import org.eclipse.jdt.internal.debug.core.model.LambdaUtils;
 
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ClassNotPreparedException;
@@ -101,10 +106,12 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 	private final Map<IJavaThread, ICompiledExpression> fSuspendEvents = new HashMap<>();
 	/**
 	 * The map of cached compiled expressions (ICompiledExpression) for this
-	 * breakpoint, keyed by thread. This value must be cleared every time the
-	 * breakpoint is added to a target.
+	 * breakpoint. A compiled condition only depends on the location of the
+	 * frame it was compiled in, so it is shared by all threads hitting the
+	 * breakpoint at the same location. This value must be cleared every time
+	 * the breakpoint is added to a target.
 	 */
-	private final Map<IJavaThread, ICompiledExpression> fCompiledExpressions = new HashMap<>();
+	private final Map<ExpressionKey, ICompiledExpression> fCompiledExpressions = new ConcurrentHashMap<>();
 
 	/**
 	 * Cache of projects for stack frames to avoid repetitive project resolution
@@ -215,10 +222,10 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 
 	/**
 	 * Removes all compiled expressions which are currently being cached for
-	 * threads in the given target.
+	 * the given target.
 	 */
-	protected void clearCachedExpressionFor(JDIDebugTarget target) {
-		removeCachedThreads(fCompiledExpressions, target);
+	public void clearCachedExpressionFor(JDIDebugTarget target) {
+		fCompiledExpressions.keySet().removeIf(key -> key.fEngine.getDebugTarget() == target);
 
 		// clean up cached projects for stack frames
 		synchronized (fProjectsByFrame) {
@@ -579,6 +586,16 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 		recreate();
 	}
 
+	/**
+	 * Conditional breakpoints listen to class prepare events through their own
+	 * requests, so that the event dispatcher handles these events like the
+	 * other events of conditional breakpoints.
+	 */
+	@Override
+	protected boolean sharesClassPrepareRequests() throws CoreException {
+		return !isConditionEnabled();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -589,7 +606,7 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 	@Override
 	protected void cleanupForThreadTermination(JDIThread thread) {
 		fSuspendEvents.remove(thread);
-		fCompiledExpressions.remove(thread);
+		fCompiledExpressions.keySet().removeIf(key -> key.fThread == thread);
 		super.cleanupForThreadTermination(thread);
 	}
 
@@ -638,28 +655,75 @@ public class JavaLineBreakpoint extends JavaBreakpoint implements
 	}
 
 	/**
-	 * Returns existing compiled expression for the given thread or
-	 * <code>null</code>.
+	 * Returns the compiled condition of this breakpoint for the given frame,
+	 * compiling it with the given engine if no expression has been compiled
+	 * for a frame at the same location yet.
 	 *
-	 * @param thread
-	 *            thread the breakpoint was hit in
-	 * @return compiled expression or <code>null</code>
-	 */
-	protected ICompiledExpression getExpression(IJavaThread thread) {
-		return fCompiledExpressions.get(thread);
+	 * @param engine
+	 *            evaluation engine for the frame
+	 * @param frame
+	 *            top frame of the thread the breakpoint was hit in
+	 * @param condition
+	 *            the condition to compile
+	 * @return compiled expression
+	 * @throws DebugException
+	 *             if the frame cannot be determined to be a lambda frame
+	 */
+	public ICompiledExpression getExpression(IAstEvaluationEngine engine,
+			IJavaStackFrame frame, String condition) throws DebugException {
+		ExpressionKey key = new ExpressionKey(engine, frame, condition);
+		ICompiledExpression expression = fCompiledExpressions.get(key);
+		if (expression == null) {
+			expression = engine.getCompiledExpression(condition, frame);
+			ICompiledExpression previous = fCompiledExpressions.putIfAbsent(key, expression);
+			if (previous != null) {
+				expression = previous;
+			}
+		}
+		return expression;
 	}
 
 	/**
-	 * Sets the compiled expression for a thread.
-	 *
-	 * @param thread
-	 *            thread the breakpoint was hit in
-	 * @param expression
-	 *            associated compiled expression
-	 */
-	protected void setExpression(IJavaThread thread,
-			ICompiledExpression expression) {
-		fCompiledExpressions.put(thread, expression);
+	 * Key of a compiled condition: the engine and condition it was compiled
+	 * with, and the location of the frame it was compiled in. The method and
+	 * code index determine the declaring type and the visible local variables
+	 * the condition is compiled against, and are known without communicating
+	 * with the VM. The variables visible in a lambda frame depend on the frame
+	 * that created the lambda, so conditions compiled in lambda frames are only
+	 * reused by the same thread.
+	 */
+	private static final class ExpressionKey {
+
+		private final IAstEvaluationEngine fEngine;
+		private final String fCondition;
+		private final Object fLocation;
+		private final IThread fThread;
+
+		ExpressionKey(IAstEvaluationEngine engine, IJavaStackFrame frame,
+				String condition) throws DebugException {
+			fEngine = engine;
+			fCondition = condition;
+			// other frames are not known to have the same locals, so their
+			// conditions are not shared
+			fLocation = frame instanceof JDIStackFrame ? ((JDIStackFrame) frame).getUnderlyingLocation() : frame;
+			fThread = LambdaUtils.isLambdaFrame(frame) ? frame.getThread() : null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof ExpressionKey) {
+				ExpressionKey key = (ExpressionKey) obj;
+				return fEngine == key.fEngine && fThread == key.fThread
+						&& fCondition.equals(key.fCondition)
+						&& fLocation.equals(key.fLocation);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fEngine, fCondition, fLocation, fThread);
+		}
 	}
 
 	/**
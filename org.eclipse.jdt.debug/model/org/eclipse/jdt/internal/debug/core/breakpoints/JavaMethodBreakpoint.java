@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -23,12 +25,14 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaMethodBreakpoint;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.JDIMethod;
 import org.eclipse.jdt.internal.debug.core.model.JDIThread;
 import org.eclipse.jdt.internal.debug.core.model.LambdaUtils;
 import org.eclipse.jdt.internal.debug.core.model.MethodResult;
@@ -41,6 +45,7 @@ import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.event.BreakpointEvent;
 import com.sun.jdi.event.Event;
 import com.sun.jdi.event.LocatableEvent;
@@ -93,6 +98,12 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 	 */
 	protected static final String NATIVE = "org.eclipse.jdt.debug.core.native"; //$NON-NLS-1$
 
+	/**
+	 * Property of the breakpoint requests installed on the return
+	 * instructions of the method of an exit breakpoint.
+	 */
+	private static final String EXIT_INSTRUCTION = "org.eclipse.jdt.debug.core.exitInstruction"; //$NON-NLS-1$
+
 	/**
 	 * Cache of method name attribute
 	 */
@@ -375,11 +386,11 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 	protected void updateEnabledState(EventRequest request,
 			JDIDebugTarget target) throws CoreException {
 		boolean enabled = isEnabled();
-		if (request instanceof MethodEntryRequest
+		if (request instanceof MethodExitRequest || isExitInstructionRequest(request)) {
+			enabled = enabled && isExit();
+		} else if (request instanceof MethodEntryRequest
 				|| request instanceof BreakpointRequest) {
 			enabled = enabled && isEntry();
-		} else if (request instanceof MethodExitRequest) {
-			enabled = enabled && isExit();
 		}
 
 		if (enabled != request.isEnabled()) {
@@ -439,7 +450,8 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 			}
 			return result;
 		} else if (event instanceof BreakpointEvent) {
-			fLastEventTypes.put(thread.getDebugTarget(), ENTRY_EVENT);
+			fLastEventTypes.put(thread.getDebugTarget(),
+					isExitInstructionRequest(event.request()) ? EXIT_EVENT : ENTRY_EVENT);
 			return super.handleBreakpointEvent(event, thread, suspendVote);
 		}
 		return true;
@@ -747,13 +759,96 @@ public class JavaMethodBreakpoint extends JavaLineBreakpoint implements
 			return false;
 		}
 		EventRequest entryRequest = createMethodEntryRequest(target, type);
-		EventRequest exitRequest = createMethodExitRequest(target, type);
+		List<EventRequest> exitRequests = createMethodExitBreakpointRequests(target, type);
+		if (exitRequests == null) {
+			exitRequests = new ArrayList<>(1);
+			exitRequests.add(createMethodExitRequest(target, type));
+		}
 
 		registerRequest(entryRequest, target);
-		registerRequest(exitRequest, target);
+		for (EventRequest exitRequest : exitRequests) {
+			registerRequest(exitRequest, target);
+		}
 		return true;
 	}
 
+	/**
+	 * Returns breakpoint requests on the return instructions of the method of
+	 * this breakpoint in the given type, or <code>null</code> if method exits
+	 * are to be reported by a method exit request, for instance when the
+	 * method throws exceptions. Unlike a method exit request, these requests do
+	 * not report the exits of the other methods of the type.
+	 *
+	 * @param target
+	 *            the target in which to create the requests
+	 * @param type
+	 *            the type on which to create the requests
+	 * @return breakpoint requests or <code>null</code>
+	 * @exception CoreException
+	 *                if an exception occurs accessing this breakpoint's
+	 *                underlying marker
+	 */
+	private List<EventRequest> createMethodExitBreakpointRequests(JDIDebugTarget target,
+			ReferenceType type) throws CoreException {
+		if (!Platform.getPreferencesService().getBoolean(JDIDebugPlugin.getUniqueIdentifier(),
+				JDIDebugPlugin.PREF_BYTECODE_METHOD_EXIT_BREAKPOINTS, false, null)) {
+			return null;
+		}
+		// hit counts are counted per request by the VM
+		if (!(type instanceof ClassType) || getMethodName() == null
+				|| getMethodSignature() == null || isNativeOnly() || getHitCount() > 0) {
+			return null;
+		}
+		EventRequestManager manager = target.getEventRequestManager();
+		VirtualMachine vm = target.getVM();
+		if (manager == null || vm == null) {
+			return null;
+		}
+		List<EventRequest> requests = new ArrayList<>();
+		try {
+			if (!vm.canGetBytecodes()) {
+				return null;
+			}
+			Method method = ((ClassType) type).concreteMethodByName(
+					getMethodName(), getMethodSignature());
+			// inherited methods are not reported by a method exit request on this type
+			if (method == null || method.isNative() || !type.equals(method.declaringType())) {
+				return null;
+			}
+			long[] indexes = JDIMethod.getReturnCodeIndexes(method);
+			if (indexes == null || indexes.length == 0) {
+				return null;
+			}
+			for (long index : indexes) {
+				Location location = method.locationOfCodeIndex(index);
+				if (location == null) {
+					manager.deleteEventRequests(requests);
+					return null;
+				}
+				BreakpointRequest request = manager.createBreakpointRequest(location);
+				request.putProperty(EXIT_INSTRUCTION, Boolean.TRUE);
+				requests.add(request);
+				configureRequest(request, target);
+			}
+		} catch (VMDisconnectedException e) {
+			return null;
+		} catch (RuntimeException e) {
+			// fall back to a method exit request
+			manager.deleteEventRequests(requests);
+			return null;
+		}
+		return requests;
+	}
+
+	/**
+	 * Returns whether the given request is a breakpoint request on a return
+	 * instruction of the method of this breakpoint.
+	 */
+	private static boolean isExitInstructionRequest(EventRequest request) {
+		return request instanceof BreakpointRequest
+				&& request.getProperty(EXIT_INSTRUCTION) != null;
+	}
+
 	/**
 	 * @see org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint#setTypeName(String)
 	 */
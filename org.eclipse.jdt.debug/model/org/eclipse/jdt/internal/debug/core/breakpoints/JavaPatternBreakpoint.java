@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,6 @@
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
 import java.text.MessageFormat;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +30,7 @@ import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.request.ClassPrepareRequest;
 
 @SuppressWarnings("deprecation")
 public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
@@ -194,8 +194,7 @@ public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
 		if (!referenceTypeName.endsWith("*")) { //$NON-NLS-1$
 			classPrepareTypeName = classPrepareTypeName + '*';
 		}
-		registerRequest(target.createClassPrepareRequest(classPrepareTypeName),
-				target);
+		ClassPrepareRequest request = registerClassPrepareRequest(target, classPrepareTypeName, null, null);
 
 		// create breakpoint requests for each class currently loaded
 		VirtualMachine vm = target.getVM();
@@ -206,21 +205,14 @@ public class JavaPatternBreakpoint extends JavaLineBreakpoint implements
 		}
 		List<ReferenceType> classes = null;
 		try {
-			classes = vm.allClasses();
+			classes = target.getLoadedClassIndex().getClassesWithPrefix(referenceTypeName, this, request);
 		} catch (RuntimeException e) {
 			target.targetRequestFailed(
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_0, e);
 		}
 		if (classes != null) {
-			Iterator<ReferenceType> iter = classes.iterator();
-			String typeName = null;
-			ReferenceType type = null;
-			while (iter.hasNext()) {
-				type = iter.next();
-				typeName = type.name();
-				if (typeName != null && typeName.startsWith(referenceTypeName)) {
-					createRequest(target, type);
-				}
+			for (ReferenceType type : classes) {
+				createRequest(target, type);
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2003, 2012 IBM Corporation and others.
+ *  Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.debug.core.breakpoints;
 
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -28,6 +29,7 @@ import org.eclipse.debug.core.IStatusHandler;
 import org.eclipse.jdt.debug.core.IJavaStratumLineBreakpoint;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
+import org.eclipse.jdt.internal.debug.core.model.LoadedClassIndex;
 
 import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ClassNotPreparedException;
@@ -36,6 +38,7 @@ import com.sun.jdi.NativeMethodException;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.request.ClassPrepareRequest;
 
 /**
  * A line breakpoint identified by its source file name and/or path, and stratum
@@ -375,11 +378,11 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 		}
 
 		String sourceName = getSourceName();
-		for (String classPrepareTypeName : patterns) {
+		ClassPrepareRequest[] requests = new ClassPrepareRequest[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
 			// create request to listen to class loads
 			// name may only be partially resolved
-			registerRequest(target.createClassPrepareRequest(
-					classPrepareTypeName, null, true, sourceName), target);
+			requests[i] = registerClassPrepareRequest(target, patterns[i], null, sourceName);
 		}
 
 		// create breakpoint requests for each class currently loaded
@@ -389,20 +392,19 @@ public class JavaStratumLineBreakpoint extends JavaLineBreakpoint implements
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_Unable_to_add_breakpoint___VM_disconnected__1,
 					new VMDisconnectedException());
 		}
-		List<ReferenceType> classes = null;
+		Set<ReferenceType> classes = new LinkedHashSet<>();
 		try {
-			classes = vm.allClasses();
+			LoadedClassIndex index = target.getLoadedClassIndex();
+			for (int i = 0; i < patterns.length; i++) {
+				classes.addAll(index.getClassesMatching(patterns[i], getStratum(), sourceName, this, requests[i]));
+			}
 		} catch (RuntimeException e) {
 			target.targetRequestFailed(
 					JDIDebugBreakpointMessages.JavaPatternBreakpoint_0, e);
 		}
-		if (classes != null) {
-			Iterator<ReferenceType> iter = classes.iterator();
-			while (iter.hasNext()) {
-				ReferenceType type = iter.next();
-				if (installableReferenceType(type, target)) {
-					createRequest(target, type);
-				}
+		for (ReferenceType type : classes) {
+			if (installableReferenceType(type, target)) {
+				createRequest(target, type);
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import com.sun.jdi.AbsentInformationException;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.VMDisconnectedException;
 import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.request.ClassPrepareRequest;
 
 public class JavaTargetPatternBreakpoint extends JavaLineBreakpoint implements
 		IJavaTargetPatternBreakpoint {
@@ -101,21 +102,14 @@ public class JavaTargetPatternBreakpoint extends JavaLineBreakpoint implements
 		if (!referenceTypeName.endsWith("*")) { //$NON-NLS-1$
 			classPrepareTypeName = classPrepareTypeName + '*';
 		}
-		registerRequest(target.createClassPrepareRequest(classPrepareTypeName),
-				target);
+		ClassPrepareRequest request = registerClassPrepareRequest(target, classPrepareTypeName, null, null);
 
 		// create breakpoint requests for each class currently loaded
 		VirtualMachine vm = target.getVM();
 		if (vm != null) {
-			List<ReferenceType> classes = vm.allClasses();
-			if (classes != null) {
-				String typeName = null;
-				for(ReferenceType type : classes) {
-					typeName = type.name();
-					if (typeName != null && typeName.startsWith(referenceTypeName)) {
-						createRequest(target, type);
-					}
-				}
+			List<ReferenceType> classes = target.getLoadedClassIndex().getClassesWithPrefix(referenceTypeName, this, request);
+			for (ReferenceType type : classes) {
+				createRequest(target, type);
 			}
 		} else {
 			target.requestFailed(
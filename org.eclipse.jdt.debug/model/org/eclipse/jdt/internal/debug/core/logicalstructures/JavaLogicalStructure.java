@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2022 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,8 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
@@ -46,11 +48,11 @@ import org.eclipse.jdt.debug.core.IJavaType;
 import org.eclipse.jdt.debug.core.IJavaValue;
 import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.debug.eval.ICompiledExpression;
-import org.eclipse.jdt.debug.eval.IEvaluationListener;
 import org.eclipse.jdt.debug.eval.IEvaluationResult;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 import org.eclipse.jdt.internal.debug.core.JavaDebugUtils;
+import org.eclipse.jdt.internal.debug.core.model.JDIDebugTarget;
 import org.eclipse.jdt.internal.debug.core.model.JDIValue;
 
 import com.sun.jdi.VMDisconnectedException;
@@ -87,17 +89,61 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 	 * structure or <code>null</code> if this structure was defined by the user.
 	 */
 	private String fContributingPluginId = null;
+	/**
+	 * Compiled expressions of the snippets of this logical structure. Cleared
+	 * when the structure is edited, entries of a target are dropped after a hot
+	 * code replace or when the target terminates.
+	 */
+	private final Map<CompiledExpressionKey, ICompiledExpression> fCompiledExpressions = new ConcurrentHashMap<>();
+
+	/**
+	 * Identifies a compiled snippet: the engine (and so the project and target)
+	 * it was compiled with, the type it was compiled in the context of and the
+	 * hot code replace count of the target at compile time.
+	 */
+	private static final class CompiledExpressionKey {
+
+		private final IAstEvaluationEngine fEngine;
+		private final IJavaReferenceType fType;
+		private final String fSnippet;
+		private final int fHCRCount;
+
+		CompiledExpressionKey(IAstEvaluationEngine engine, IJavaReferenceType type, String snippet, int hcrCount) {
+			fEngine = engine;
+			fType = type;
+			fSnippet = snippet;
+			fHCRCount = hcrCount;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CompiledExpressionKey)) {
+				return false;
+			}
+			CompiledExpressionKey other = (CompiledExpressionKey) obj;
+			return fEngine == other.fEngine && fHCRCount == other.fHCRCount && fType.equals(other.fType)
+					&& fSnippet.equals(other.fSnippet);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fEngine, fType, fSnippet, Integer.valueOf(fHCRCount));
+		}
+	}
 
 	/**
 	 * Performs the evaluations.
 	 */
-	private class EvaluationBlock implements IEvaluationListener {
+	private class EvaluationBlock {
 
 		private final IJavaObject fEvaluationValue;
 		private final IJavaReferenceType fEvaluationType;
 		private final IJavaThread fThread;
 		private final IAstEvaluationEngine fEvaluationEngine;
-		private IEvaluationResult fResult;
+		/**
+		 * Number of submitted evaluations that have not completed yet
+		 */
+		private int fPending;
 
 		/**
 		 * Constructor
@@ -110,21 +156,6 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 			fEvaluationEngine = evaluationEngine;
 		}
 
-		/*
-		 * (non-Javadoc)
-		 *
-		 * @see
-		 * org.eclipse.jdt.debug.eval.IEvaluationListener#evaluationComplete
-		 * (org.eclipse.jdt.debug.eval.IEvaluationResult)
-		 */
-		@Override
-		public void evaluationComplete(IEvaluationResult result) {
-			synchronized (this) {
-				fResult = result;
-				this.notify();
-			}
-		}
-
 		/**
 		 * Evaluates the specified snippet and returns the
 		 * <code>IJavaValue</code> from the evaluation
@@ -134,42 +165,117 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 		 * @return the <code>IJavaValue</code> from the evaluation
 		 */
 		public IJavaValue evaluate(String snippet) throws DebugException {
-			Map<String, String> compileOptions =
-					Collections.singletonMap(CompilerOptions.OPTION_JdtDebugCompileMode, JavaCore.ENABLED);
-			ICompiledExpression compiledExpression = fEvaluationEngine
-					.getCompiledExpression(snippet, fEvaluationType, compileOptions);
-			if (compiledExpression.hasErrors()) {
-				String[] errorMessages = compiledExpression.getErrorMessages();
-				log(errorMessages);
-				return new JavaStructureErrorValue(errorMessages,
-						fEvaluationValue);
+			return evaluate(new String[] { snippet })[0];
+		}
+
+		/**
+		 * Evaluates the specified snippets and returns the
+		 * <code>IJavaValue</code>s from the evaluations. All evaluations are
+		 * submitted to the thread at once and the results are collected after
+		 * the last one completed.
+		 *
+		 * @param snippets
+		 *            the snippets to evaluate
+		 * @return the <code>IJavaValue</code>s from the evaluations, in the
+		 *         order of the snippets
+		 */
+		public IJavaValue[] evaluate(String[] snippets) throws DebugException {
+			IJavaValue[] values = new IJavaValue[snippets.length];
+			ICompiledExpression[] expressions = new ICompiledExpression[snippets.length];
+			for (int i = 0; i < snippets.length; i++) {
+				ICompiledExpression compiledExpression = getCompiledExpression(fEvaluationEngine, fEvaluationType, snippets[i]);
+				if (compiledExpression.hasErrors()) {
+					String[] errorMessages = compiledExpression.getErrorMessages();
+					log(errorMessages);
+					values[i] = new JavaStructureErrorValue(errorMessages,
+							fEvaluationValue);
+				} else {
+					expressions[i] = compiledExpression;
+				}
+			}
+			// implicit evaluations are queued on the thread and performed one
+			// after the other, so there is nothing to gain by waiting in between
+			IEvaluationResult[] results = new IEvaluationResult[snippets.length];
+			try {
+				for (int i = 0; i < expressions.length; i++) {
+					if (expressions[i] != null) {
+						final int index = i;
+						synchronized (this) {
+							fPending++;
+						}
+						try {
+							fEvaluationEngine.evaluateExpression(expressions[i],
+									fEvaluationValue, fThread, result -> evaluationComplete(results, index, result),
+									DebugEvent.EVALUATION_IMPLICIT | IAstEvaluationEngine.DISABLE_GC_ON_RESULT, false);
+						} catch (DebugException e) {
+							synchronized (this) {
+								fPending--;
+							}
+							throw e;
+						}
+					}
+				}
+			} finally {
+				waitForEvaluations();
 			}
-			fResult = null;
-			fEvaluationEngine.evaluateExpression(compiledExpression,
-					fEvaluationValue, fThread, this,
-					DebugEvent.EVALUATION_IMPLICIT | IAstEvaluationEngine.DISABLE_GC_ON_RESULT, false);
-			synchronized (this) {
-				if (fResult == null) {
+			DebugException notSuspended = null;
+			for (int i = 0; i < expressions.length; i++) {
+				if (expressions[i] != null) {
 					try {
-						this.wait();
-					} catch (InterruptedException e) {
+						values[i] = getValue(results[i]);
+					} catch (DebugException e) {
+						notSuspended = e;
 					}
 				}
 			}
-			if (fResult == null) {
+			if (notSuspended != null) {
+				// throw this exception so the content provider can
+				// handle if (cancel the update)
+				throw notSuspended;
+			}
+			return values;
+		}
+
+		private synchronized void evaluationComplete(IEvaluationResult[] results, int index, IEvaluationResult result) {
+			results[index] = result;
+			fPending--;
+			notifyAll();
+		}
+
+		/**
+		 * Waits until all submitted evaluations have completed, or the waiting
+		 * thread is interrupted.
+		 */
+		private synchronized void waitForEvaluations() {
+			while (fPending > 0) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Returns the value of the given evaluation result, or an error value
+		 * describing why the evaluation failed.
+		 *
+		 * @throws DebugException
+		 *             if the thread was not suspended
+		 */
+		private IJavaValue getValue(IEvaluationResult result) throws DebugException {
+			if (result == null) {
 				return new JavaStructureErrorValue(
 						LogicalStructuresMessages.JavaLogicalStructure_1,
 						fEvaluationValue);
 			}
-			if (fResult.hasErrors()) {
-				DebugException exception = fResult.getException();
+			if (result.hasErrors()) {
+				DebugException exception = result.getException();
 				String message;
 				if (exception != null) {
 					if (exception.getStatus().getException() instanceof UnsupportedOperationException) {
 						message = LogicalStructuresMessages.JavaLogicalStructure_0;
 					} else if (exception.getStatus().getCode() == IJavaThread.ERR_THREAD_NOT_SUSPENDED) {
-						// throw this exception so the content provider can
-						// handle if (cancel the update)
 						throw exception;
 					} else {
 						message = MessageFormat.format(LogicalStructuresMessages.JavaLogicalStructure_2, exception.getMessage());
@@ -179,7 +285,7 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 				}
 				return new JavaStructureErrorValue(message, fEvaluationValue);
 			}
-			return fResult.getValue();
+			return result.getValue();
 		}
 
 		/**
@@ -196,6 +302,51 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 		}
 	}
 
+	/**
+	 * Returns the compiled expression for the given snippet in the context of
+	 * the given type, compiling it only if it has not been compiled with the
+	 * given engine since the last hot code replace.
+	 */
+	private ICompiledExpression getCompiledExpression(IAstEvaluationEngine engine, IJavaReferenceType type, String snippet) throws DebugException {
+		CompiledExpressionKey key = new CompiledExpressionKey(engine, type, snippet, getHCRCount(engine));
+		ICompiledExpression compiledExpression = fCompiledExpressions.get(key);
+		if (compiledExpression == null) {
+			purgeCompiledExpressions(engine, key.fHCRCount);
+			Map<String, String> compileOptions =
+					Collections.singletonMap(CompilerOptions.OPTION_JdtDebugCompileMode, JavaCore.ENABLED);
+			compiledExpression = engine.getCompiledExpression(snippet, type, compileOptions);
+			fCompiledExpressions.put(key, compiledExpression);
+		}
+		return compiledExpression;
+	}
+
+	/**
+	 * Removes the compiled expressions that are stale for the given engine.
+	 */
+	private void purgeCompiledExpressions(IAstEvaluationEngine engine, int hcrCount) {
+		fCompiledExpressions.keySet().removeIf(key -> key.fEngine == engine && key.fHCRCount != hcrCount);
+	}
+
+	/**
+	 * Removes the compiled expressions of the given target, which has
+	 * terminated.
+	 *
+	 * @param target
+	 *            the terminated target
+	 * @see JavaLogicalStructures.TargetTerminationListener
+	 */
+	void purgeCompiledExpressions(IJavaDebugTarget target) {
+		fCompiledExpressions.keySet().removeIf(key -> key.fEngine.getDebugTarget() == target);
+	}
+
+	private static int getHCRCount(IAstEvaluationEngine engine) {
+		IJavaDebugTarget target = engine.getDebugTarget();
+		if (target instanceof JDIDebugTarget) {
+			return ((JDIDebugTarget) target).getHCRCount();
+		}
+		return 0;
+	}
+
 	/**
 	 * Constructor from parameters.
 	 */
@@ -305,11 +456,15 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 					evaluationEngine);
 			if (fValue == null) {
 				// evaluate each variable
+				String[] snippets = new String[fVariables.length];
+				for (int i = 0; i < fVariables.length; i++) {
+					snippets[i] = fVariables[i][1];
+				}
+				IJavaValue[] values = evaluationBlock.evaluate(snippets);
 				JDIPlaceholderVariable[] variables = new JDIPlaceholderVariable[fVariables.length];
 				for (int i = 0; i < fVariables.length; i++) {
 					variables[i] = new JDIPlaceholderVariable(fVariables[i][0],
-							evaluationBlock.evaluate(fVariables[i][1]),
-							javaValue);
+							values[i], javaValue);
 				}
 				return new LogicalObjectStructureValue(javaValue, variables);
 			}
@@ -445,6 +600,7 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 	 */
 	public void setSubtypes(boolean subtypes) {
 		fSubtypes = subtypes;
+		fCompiledExpressions.clear();
 	}
 
 	/**
@@ -461,6 +617,7 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 	 */
 	public void setType(String type) {
 		fType = type;
+		fCompiledExpressions.clear();
 	}
 
 	/**
@@ -477,6 +634,7 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 	 */
 	public void setValue(String value) {
 		fValue = value;
+		fCompiledExpressions.clear();
 	}
 
 	/**
@@ -493,6 +651,7 @@ public class JavaLogicalStructure implements ILogicalStructureType, ILogicalStru
 	 */
 	public void setVariables(String[][] variables) {
 		fVariables = variables;
+		fCompiledExpressions.clear();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2012 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,11 +31,15 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILogicalStructureProvider;
 import org.eclipse.debug.core.ILogicalStructureType;
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.jdt.debug.core.IJavaClassType;
+import org.eclipse.jdt.debug.core.IJavaDebugTarget;
 import org.eclipse.jdt.debug.core.IJavaInterfaceType;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaType;
@@ -97,6 +101,26 @@ public class JavaLogicalStructures implements ILogicalStructureProvider {
 		}
 	}
 
+	/**
+	 * Drops the compiled expressions of the logical structures for Java debug
+	 * targets that terminate
+	 */
+	static class TargetTerminationListener implements IDebugEventSetListener {
+		/* (non-Javadoc)
+		 * @see org.eclipse.debug.core.IDebugEventSetListener#handleDebugEvents(org.eclipse.debug.core.DebugEvent[])
+		 */
+		@Override
+		public void handleDebugEvents(DebugEvent[] events) {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.TERMINATE && event.getSource() instanceof IJavaDebugTarget) {
+					for (JavaLogicalStructure logicalStructure : getJavaLogicalStructures()) {
+						logicalStructure.purgeCompiledExpressions((IJavaDebugTarget) event.getSource());
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get the logical structure from the extension point and the preference
 	 * store, and initialize the map.
@@ -109,6 +133,10 @@ public class JavaLogicalStructures implements ILogicalStructureProvider {
 		if(prefs != null) {
 			prefs.addPreferenceChangeListener(new PreferenceListener());
 		}
+		DebugPlugin debugPlugin = DebugPlugin.getDefault();
+		if (debugPlugin != null) {
+			debugPlugin.addDebugEventListener(new TargetTerminationListener());
+		}
 	}
 
 	private static void initJavaLogicalStructureMap() {
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.ClassPrepareRequest;
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Shares class prepare requests between the listeners of a debug target that
+ * are interested in the same classes, typically breakpoints waiting for the
+ * classes they are set in to be loaded.
+ * <p>
+ * One class prepare request is created in the VM for each distinct
+ * combination of class pattern, class exclusion pattern and source name, and
+ * its events are dispatched to all listeners that added themselves for that
+ * combination. The request is deleted when its last listener is removed.
+ * </p>
+ */
+public class ClassPrepareMultiplexer implements IJDIEventListener {
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Shared requests by key, guarded by this multiplexer
+	 */
+	private final Map<Key, SharedRequest> fRequestsByKey = new HashMap<>();
+
+	/**
+	 * Shared requests by class prepare request
+	 */
+	private final Map<EventRequest, SharedRequest> fRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * Listeners an event was dispatched to, until its event set is complete
+	 */
+	private final Map<Event, List<IJDIEventListener>> fDispatched = new ConcurrentHashMap<>();
+
+	ClassPrepareMultiplexer(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Adds the given listener for classes prepared in the VM that match the
+	 * given patterns, creating the class prepare request if no other listener
+	 * is interested in the same classes.
+	 *
+	 * @param listener
+	 *            the listener to notify of class prepare events
+	 * @param classPattern
+	 *            pattern of class names, as for
+	 *            {@link JDIDebugTarget#createClassPrepareRequest(String, String, boolean, String)}
+	 * @param classExclusionPattern
+	 *            pattern of excluded class names or <code>null</code>
+	 * @param sourceName
+	 *            source name pattern or <code>null</code>
+	 * @return the shared class prepare request, which listeners must not
+	 *         modify or delete
+	 * @exception CoreException
+	 *                if unable to create the request
+	 */
+	public synchronized ClassPrepareRequest addListener(IJDIEventListener listener, String classPattern, String classExclusionPattern, String sourceName) throws CoreException {
+		Key key = new Key(classPattern, classExclusionPattern, sourceName);
+		SharedRequest shared = fRequestsByKey.get(key);
+		if (shared == null) {
+			ClassPrepareRequest request = fTarget.createClassPrepareRequest(classPattern, classExclusionPattern, true, sourceName);
+			shared = new SharedRequest(key, request);
+			fRequestsByKey.put(key, shared);
+			fRequests.put(request, shared);
+			fTarget.addJDIEventListener(this, request);
+		}
+		if (!shared.fListeners.contains(listener)) {
+			shared.fListeners.add(listener);
+		}
+		return shared.fRequest;
+	}
+
+	/**
+	 * Removes the given listener of the given shared request, deleting the
+	 * request when no listener remains.
+	 *
+	 * @param listener
+	 *            the listener to remove
+	 * @param request
+	 *            the shared class prepare request
+	 */
+	public synchronized void removeListener(IJDIEventListener listener, EventRequest request) {
+		SharedRequest shared = fRequests.get(request);
+		if (shared == null) {
+			return;
+		}
+		shared.fListeners.remove(listener);
+		if (!shared.fListeners.isEmpty()) {
+			return;
+		}
+		fRequestsByKey.remove(shared.fKey);
+		fRequests.remove(request);
+		fTarget.removeJDIEventListener(this, request);
+		try {
+			EventRequestManager manager = fTarget.getEventRequestManager();
+			if (fTarget.isAvailable() && manager != null) {
+				manager.deleteEventRequest(request);
+			}
+		} catch (VMDisconnectedException e) {
+			if (fTarget.isAvailable()) {
+				JDIDebugPlugin.log(e);
+			}
+		} catch (RuntimeException e) {
+			fTarget.internalError(e);
+		}
+	}
+
+	/**
+	 * Returns whether the given request is a class prepare request shared by
+	 * this multiplexer.
+	 *
+	 * @param request
+	 *            an event request
+	 * @return whether the request is shared
+	 */
+	public boolean isShared(EventRequest request) {
+		return fRequests.containsKey(request);
+	}
+
+	/**
+	 * Dispatches the event to the listeners of its request, resuming only if
+	 * all of them vote to resume.
+	 */
+	@Override
+	public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
+		SharedRequest shared = fRequests.get(event.request());
+		if (shared == null) {
+			return true;
+		}
+		List<IJDIEventListener> listeners = new ArrayList<>(shared.fListeners);
+		fDispatched.put(event, listeners);
+		boolean resume = !suspendVote;
+		for (IJDIEventListener listener : listeners) {
+			try {
+				resume = listener.handleEvent(event, target, !resume, eventSet) && resume;
+			} catch (Throwable t) {
+				JDIDebugPlugin.logError("Exception occurred while notifying listener: " + listener + ", with event: " + event, t); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return resume;
+	}
+
+	@Override
+	public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
+		List<IJDIEventListener> listeners = fDispatched.remove(event);
+		if (listeners == null) {
+			return;
+		}
+		for (IJDIEventListener listener : listeners) {
+			listener.eventSetComplete(event, target, suspend, eventSet);
+		}
+	}
+
+	/**
+	 * A class prepare request and its listeners
+	 */
+	private static class SharedRequest {
+
+		private final Key fKey;
+		private final ClassPrepareRequest fRequest;
+		private final List<IJDIEventListener> fListeners = new CopyOnWriteArrayList<>();
+
+		SharedRequest(Key key, ClassPrepareRequest request) {
+			fKey = key;
+			fRequest = request;
+		}
+	}
+
+	/**
+	 * The patterns of a class prepare request
+	 */
+	private static class Key {
+
+		private final String fClassPattern;
+		private final String fClassExclusionPattern;
+		private final String fSourceName;
+
+		Key(String classPattern, String classExclusionPattern, String sourceName) {
+			fClassPattern = classPattern;
+			fClassExclusionPattern = classExclusionPattern;
+			fSourceName = sourceName;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return Objects.equals(fClassPattern, other.fClassPattern)
+					&& Objects.equals(fClassExclusionPattern, other.fClassExclusionPattern)
+					&& Objects.equals(fSourceName, other.fSourceName);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fClassPattern, fClassExclusionPattern, fSourceName);
+		}
+	}
+}
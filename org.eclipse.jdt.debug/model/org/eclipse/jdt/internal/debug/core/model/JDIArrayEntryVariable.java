@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,12 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 	 */
 	private final ArrayReference fArray;
 
+	/**
+	 * The array value this entry was created for, or <code>null</code>. Values
+	 * are retrieved through its block cache when available.
+	 */
+	private final JDIArrayValue fArrayValue;
+
 	/**
 	 * The reference type name of this variable. Cached lazily.
 	 */
@@ -77,6 +83,30 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 			int index, IJavaValue logicalParent) {
 		super(target);
 		fArray = array;
+		fArrayValue = null;
+		fIndex = index;
+		fLogicalParent = logicalParent;
+	}
+
+	/**
+	 * Constructs an array entry at the given index in an array value. The
+	 * value of the entry is retrieved through the cache of the array value.
+	 *
+	 * @param target
+	 *            debug target containing the array entry
+	 * @param array
+	 *            array value containing the entry
+	 * @param index
+	 *            index into the array
+	 * @param logicalParent
+	 *            original logical parent value, or <code>null</code> if not a
+	 *            child of a logical structure
+	 */
+	public JDIArrayEntryVariable(JDIDebugTarget target, JDIArrayValue array,
+			int index, IJavaValue logicalParent) {
+		super(target);
+		fArray = array.getArrayReference();
+		fArrayValue = array;
 		fIndex = index;
 		fLogicalParent = logicalParent;
 	}
@@ -85,7 +115,10 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 	 * Returns this variable's current underlying value.
 	 */
 	@Override
-	protected Value retrieveValue() {
+	protected Value retrieveValue() throws DebugException {
+		if (fArrayValue != null) {
+			return fArrayValue.getUnderlyingValue(getIndex());
+		}
 		ArrayReference ar = getArrayReference();
 		if (ar != null) {
 			return ar.getValue(getIndex());
@@ -111,6 +144,9 @@ public class JDIArrayEntryVariable extends JDIModificationVariable {
 		}
 		try {
 			ar.setValue(getIndex(), value);
+			if (fArrayValue != null) {
+				fArrayValue.clearValueBlocks();
+			}
 			fireChangeEvent(DebugEvent.CONTENT);
 		} catch (ClassNotLoadedException e) {
 			targetRequestFailed(
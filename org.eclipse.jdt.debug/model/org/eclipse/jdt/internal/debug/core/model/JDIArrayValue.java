@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,13 +16,18 @@ package org.eclipse.jdt.internal.debug.core.model;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IIndexedValue;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdi.internal.ArrayReferenceImpl;
 import org.eclipse.jdt.debug.core.IJavaArray;
 import org.eclipse.jdt.debug.core.IJavaValue;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
 
 import com.sun.jdi.ArrayReference;
 import com.sun.jdi.ClassNotLoadedException;
@@ -34,6 +39,16 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 
 	private int fLength = -1;
 
+	/**
+	 * Blocks of values of the underlying array retrieved since the target
+	 * last resumed or changed, keyed by block index. The size of the blocks is
+	 * <code>fValueBlockSize</code>. Replaced rather than cleared, so that
+	 * blocks retrieved for a previous map are not cached.
+	 */
+	private Map<Integer, List<Value>> fValueBlocks = new HashMap<>();
+	private int fValueBlockSize;
+	private int fValueBlocksStateChangeCount = -1;
+
 	/**
 	 * Constructs a value which is a reference to an array.
 	 *
@@ -98,6 +113,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		try {
 			getArrayReference().setValue(index,
 					((JDIValue) value).getUnderlyingValue());
+			clearValueBlocks();
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (InvalidTypeException e) {
@@ -144,8 +160,12 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 	 *                </ul>
 	 */
 	protected Value getUnderlyingValue(int index) throws DebugException {
+		int length = getLength();
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
 		try {
-			return getArrayReference().getValue(index);
+			return getCachedValue(index, length);
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (RuntimeException e) {
@@ -159,6 +179,135 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		return null;
 	}
 
+	/**
+	 * Returns the values in the given range of the underlying array as an
+	 * array of its primitive component type, such as an <code>int[]</code>
+	 * for an <code>int</code> array. The values are decoded in bulk, without
+	 * creating a value per element.
+	 *
+	 * @param offset
+	 *            the index of the first value
+	 * @param length
+	 *            the number of values
+	 * @return the primitive values, or <code>null</code> if the component type
+	 *         is not primitive or the values cannot be retrieved in bulk
+	 * @exception DebugException
+	 *                if this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure communicating with the VM. The
+	 *                DebugException's status code contains the underlying
+	 *                exception responsible for the failure.</li>
+	 *                </ul>
+	 */
+	public Object getPrimitiveValues(int offset, int length) throws DebugException {
+		ArrayReference array = getArrayReference();
+		if (!(array instanceof ArrayReferenceImpl)) {
+			return null;
+		}
+		try {
+			return ((ArrayReferenceImpl) array).getPrimitiveValues(offset, length);
+		} catch (IndexOutOfBoundsException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_retrieving_values_from_array,
+							e.toString()), e);
+		}
+		// execution will not reach this line as
+		// an exception will be thrown
+		return null;
+	}
+
+	/**
+	 * Returns the value at the given index from the block cache, retrieving
+	 * the block containing the index if needed. The values of the array may
+	 * change whenever the target resumes, including for implicit evaluations,
+	 * or one of its elements changes, so the cache only holds values retrieved
+	 * since then. Blocks are retrieved without holding the lock of this value,
+	 * and only cached if the cache has not been discarded in the meantime.
+	 */
+	private Value getCachedValue(int index, int length) {
+		Map<Integer, List<Value>> blocks;
+		int blockSize;
+		int block;
+		int adjacent;
+		synchronized (this) {
+			int stateChangeCount = getJavaDebugTarget().getStateChangeCount();
+			if (fValueBlocksStateChangeCount != stateChangeCount) {
+				fValueBlocks = new HashMap<>();
+				fValueBlocksStateChangeCount = stateChangeCount;
+				fValueBlockSize = Math.max(1, Platform.getPreferencesService().getInt(
+						JDIDebugPlugin.getUniqueIdentifier(),
+						JDIDebugPlugin.PREF_ARRAY_VALUE_BLOCK_SIZE,
+						JDIDebugPlugin.DEF_ARRAY_VALUE_BLOCK_SIZE,
+						null));
+			}
+			blocks = fValueBlocks;
+			blockSize = fValueBlockSize;
+			block = index / blockSize;
+			List<Value> values = blocks.get(block);
+			if (values != null) {
+				return values.get(index - block * blockSize);
+			}
+			adjacent = getAdjacentValueBlock(block, blockSize, length);
+		}
+		List<List<Value>> values = retrieveValueBlocks(block, adjacent, blockSize, length);
+		synchronized (this) {
+			if (fValueBlocks == blocks) {
+				blocks.put(block, values.get(0));
+				if (adjacent != -1) {
+					blocks.put(adjacent, values.get(1));
+				}
+			}
+		}
+		return values.get(0).get(index - block * blockSize);
+	}
+
+	/**
+	 * Returns the block to retrieve along with the given block when the
+	 * underlying array reference can request both in one round trip: the
+	 * block following the given one, or the preceding one if the following
+	 * block is cached already or past the end of the array. Returns
+	 * <code>-1</code> if there is none.
+	 */
+	private int getAdjacentValueBlock(int block, int blockSize, int length) {
+		if (getArrayReference() instanceof ArrayReferenceImpl) {
+			if ((block + 1) * blockSize < length && !fValueBlocks.containsKey(block + 1)) {
+				return block + 1;
+			} else if (block > 0 && !fValueBlocks.containsKey(block - 1)) {
+				return block - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Retrieves the given block of values, and the given adjacent block unless
+	 * it is <code>-1</code>, in one round trip.
+	 */
+	private List<List<Value>> retrieveValueBlocks(int block, int adjacent, int blockSize, int length) {
+		ArrayReference array = getArrayReference();
+		if (adjacent == -1) {
+			return Collections.singletonList(array.getValues(block * blockSize, valueBlockLength(block, blockSize, length)));
+		}
+		int[] firstIndices = new int[] { block * blockSize, adjacent * blockSize };
+		int[] lengths = new int[] { valueBlockLength(block, blockSize, length), valueBlockLength(adjacent, blockSize, length) };
+		return ((ArrayReferenceImpl) array).getValues(firstIndices, lengths);
+	}
+
+	private static int valueBlockLength(int block, int blockSize, int length) {
+		return Math.min(blockSize, length - block * blockSize);
+	}
+
+	/**
+	 * Discards the cached values of the underlying array, after the array
+	 * has been modified.
+	 */
+	protected synchronized void clearValueBlocks() {
+		fValueBlocks = new HashMap<>();
+	}
+
 	/**
 	 * Returns the underlying values from the underlying array reference.
 	 *
@@ -207,8 +356,8 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		if (offset >= getLength()) {
 			requestFailed(JDIDebugModelMessages.JDIArrayValue_6, new IndexOutOfBoundsException(Integer.toString(offset)));
 		}
-		return new JDIArrayEntryVariable(getJavaDebugTarget(),
-				getArrayReference(), offset, fLogicalParent);
+		return new JDIArrayEntryVariable(getJavaDebugTarget(), this, offset,
+				fLogicalParent);
 	}
 
 	/*
@@ -229,7 +378,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 		int index = offset;
 		for (int i = 0; i < length; i++) {
 			variables[i] = new JDIArrayEntryVariable(getJavaDebugTarget(),
-					getArrayReference(), index, fLogicalParent);
+					this, index, fLogicalParent);
 			index++;
 		}
 		return variables;
@@ -270,6 +419,7 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 				list.add(((JDIValue) value).getUnderlyingValue());
 			}
 			getArrayReference().setValues(offset, list, startOffset, length);
+			clearValueBlocks();
 		} catch (IndexOutOfBoundsException e) {
 			throw e;
 		} catch (InvalidTypeException e) {
@@ -291,6 +441,59 @@ public class JDIArrayValue extends JDIObjectValue implements IJavaArray,
 
 	}
 
+	/**
+	 * Replaces the values of the underlying <code>byte</code> array starting at
+	 * the given offset with the given bytes. The bytes are sent in bulk,
+	 * without creating a value per element.
+	 *
+	 * @param offset
+	 *            the index of the first value to replace
+	 * @param values
+	 *            the replacement values
+	 * @return whether the values were set, <code>false</code> if they cannot
+	 *         be set in bulk and {@link #setValues(int, int, IJavaValue[], int)}
+	 *         must be used instead
+	 * @exception DebugException
+	 *                if this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure communicating with the VM. The
+	 *                DebugException's status code contains the underlying
+	 *                exception responsible for the failure.</li>
+	 *                <li>This is not a <code>byte</code> array.</li>
+	 *                </ul>
+	 */
+	public boolean setBytes(int offset, byte[] values) throws DebugException {
+		ArrayReference array = getArrayReference();
+		if (!(array instanceof ArrayReferenceImpl)) {
+			return false;
+		}
+		try {
+			((ArrayReferenceImpl) array).setBytes(offset, values);
+			clearValueBlocks();
+			return true;
+		} catch (IndexOutOfBoundsException e) {
+			throw e;
+		} catch (InvalidTypeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		} catch (ClassNotLoadedException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		} catch (RuntimeException e) {
+			targetRequestFailed(
+					MessageFormat.format(
+							JDIDebugModelMessages.JDIArrayValue_exception_while_setting_value_in_array,
+							e.toString()), e);
+		}
+		// execution will not reach this line as
+		// an exception will be thrown
+		return false;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
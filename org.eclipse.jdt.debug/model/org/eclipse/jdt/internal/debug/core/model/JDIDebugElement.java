@@ -129,6 +129,34 @@ public abstract class JDIDebugElement extends DebugElement implements
 		super.fireSuspendEvent(detail);
 	}
 
+	/**
+	 * Fires a debug event marking the RESUME of this element with the
+	 * associated detail.
+	 *
+	 * @param detail
+	 *            The int detail of the event
+	 * @see org.eclipse.debug.core.DebugEvent
+	 */
+	@Override
+	public void fireResumeEvent(int detail) {
+		getJavaDebugTarget().incrementStateChangeCount();
+		super.fireResumeEvent(detail);
+	}
+
+	/**
+	 * Fires a debug event marking the CHANGE of this element with the
+	 * associated detail.
+	 *
+	 * @param detail
+	 *            The int detail of the event
+	 * @see org.eclipse.debug.core.DebugEvent
+	 */
+	@Override
+	public void fireChangeEvent(int detail) {
+		getJavaDebugTarget().incrementStateChangeCount();
+		super.fireChangeEvent(detail);
+	}
+
 	/**
 	 * Queues a debug event marking the SUSPEND of this element with the
 	 * associated detail.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,13 +23,16 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -65,6 +68,7 @@ import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.IThread;
 import org.eclipse.jdi.TimeoutException;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdi.internal.jdwp.JdwpReplyPacket;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -95,7 +99,9 @@ import org.eclipse.jdt.debug.eval.IAstEvaluationEngine;
 import org.eclipse.jdt.internal.debug.core.EventDispatcher;
 import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
 import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+import org.eclipse.jdt.internal.debug.core.breakpoints.ExceptionBreakpointIndex;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaBreakpoint;
+import org.eclipse.jdt.internal.debug.core.breakpoints.JavaExceptionBreakpoint;
 import org.eclipse.jdt.internal.debug.core.breakpoints.JavaLineBreakpoint;
 
 import com.sun.jdi.ClassType;
@@ -129,13 +135,27 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		IDebugEventSetListener {
 
 	/**
-	 * Threads contained in this debug target. When a thread starts it is added
-	 * to the list. When a thread ends it is removed from the list.
+	 * Threads contained in this debug target, keyed by the unique identifier of
+	 * the underlying thread reference. When a thread starts it is added to the
+	 * map. When a thread ends it is removed from the map.
+	 *
+	 * @see #findThread(ThreadReference)
+	 */
+	private final Map<Long, JDIThread> fThreads;
+
+	/**
+	 * Threads contained in this debug target, in the order in which they were
+	 * added, keyed by their sequence number. Also the lock guarding threads
+	 * being added to or removed from both thread maps, reads need no lock.
 	 *
-	 * TODO investigate making this a synchronized collection, to remove all this copying
 	 * @see #getThreadIterator()
 	 */
-	private final List<JDIThread> fThreads;
+	private final ConcurrentSkipListMap<Long, JDIThread> fThreadsInOrder;
+
+	/**
+	 * Sequence number of the last thread added to this debug target
+	 */
+	private final AtomicLong fThreadSequence = new AtomicLong();
 
 	/**
 	 * List of thread groups in this target.
@@ -183,6 +203,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Whether enable/disable object GC is allowed
 	 */
 	private volatile boolean fSupportsDisableGC;
+	/**
+	 * Whether the threads running when this target is created are added
+	 * without determining their properties, which are then determined on
+	 * first access or in the background
+	 */
+	private volatile boolean fLazyThreadInitialization;
 	/**
 	 * Collection of breakpoints added to this target. Values are of type
 	 * <code>IJavaBreakpoint</code>.
@@ -199,6 +225,35 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private volatile boolean fHasHCROccurred;
 
+	/**
+	 * Number of hot code replaces performed in this target
+	 */
+	private final AtomicInteger fHCRCount = new AtomicInteger();
+
+	/**
+	 * Class filters of the exception breakpoints in the breakpoint manager by
+	 * exception type name
+	 */
+	private final ExceptionBreakpointIndex fExceptionBreakpointIndex = new ExceptionBreakpointIndex();
+
+	/**
+	 * Classes loaded in the VM by name, built on first use
+	 */
+	private final LoadedClassIndex fLoadedClassIndex = new LoadedClassIndex(this);
+
+	/**
+	 * Class prepare requests shared by the breakpoints in this target
+	 */
+	private final ClassPrepareMultiplexer fClassPrepareMultiplexer = new ClassPrepareMultiplexer(this);
+
+	/**
+	 * Type names of the breakpoints whose loaded classes are retrieved in one
+	 * batch once all breakpoints are installed during initialization, or
+	 * <code>null</code> when not initializing breakpoints. Guarded by this
+	 * target.
+	 */
+	private Map<JavaBreakpoint, String> fDeferredClassResolutions;
+
 	/**
 	 * The name of this target - set by the client on creation, or retrieved
 	 * from the underlying VM.
@@ -240,6 +295,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	private final AtomicInteger fSuspendCount = new AtomicInteger(0);
 
+	/**
+	 * Count of the number of resume and change events of this target and its
+	 * elements, including those of implicit evaluations
+	 */
+	private final AtomicInteger fStateChangeCount = new AtomicInteger(0);
+
 	/** Number of extra VM.resume operations needed due SUSPEND_VM breakpoints */
 	private final AtomicInteger extraResumeCount = new AtomicInteger(0);
 
@@ -373,7 +434,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		setName(name);
 		fScope = prepareBreakpointsSearchScope();
 		fBreakpoints = Collections.synchronizedList(new ArrayList<>(5));
-		fThreads = Collections.synchronizedList(new ArrayList<>());
+		fThreads = new ConcurrentHashMap<>();
+		fThreadsInOrder = new ConcurrentSkipListMap<>();
 		fGroups = Collections.synchronizedList(new ArrayList<>(5));
 		fOutOfSynchTypes = Collections.synchronizedSet(new HashSet<>());
 		setHCROccurred(false);
@@ -449,19 +511,17 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	}
 
 	/**
-	 * Returns an iterator over the collection of threads. The returned iterator
-	 * is made on a copy of the thread list so that it is thread safe. This
-	 * method should always be used instead of getThreadList().iterator()
+	 * Returns an iterator over the collection of threads, in the order in
+	 * which they were added. The returned iterator is weakly consistent: it
+	 * never throws a
+	 * <code>ConcurrentModificationException</code> and does not copy the
+	 * collection of threads, but may or may not reflect threads added or
+	 * removed while iterating.
 	 *
 	 * @return an iterator over the collection of threads
 	 */
 	private Iterator<JDIThread> getThreadIterator() {
-		List<JDIThread> threadList;
-		synchronized (fThreads) {
-			//TODO investigate making fThreads be a synchronized collection, to remove all this copying
-			threadList = new ArrayList<>(fThreads);
-		}
-		return threadList.iterator();
+		return fThreadsInOrder.values().iterator();
 	}
 
 	/**
@@ -570,9 +630,27 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				internalError(e);
 			}
 			if (threads != null) {
-				Iterator<ThreadReference> initialThreads = threads.iterator();
-				while (initialThreads.hasNext()) {
-					createThread(initialThreads.next());
+				List<ThreadReferenceImpl.State> states = null;
+				try {
+					states = getThreadReferenceStates(threads);
+				} catch (VMDisconnectedException e) {
+					// fall back to initializing each thread on its own
+				}
+				fLazyThreadInitialization = states != null && Platform.getPreferencesService().getBoolean(
+						JDIDebugPlugin.getUniqueIdentifier(),
+						JDIDebugPlugin.PREF_LAZY_THREAD_INITIALIZATION,
+						false,
+						null);
+				for (int i = 0; i < threads.size(); i++) {
+					if (states == null) {
+						createThread(threads.get(i));
+					} else if (states.get(i) != null) {
+						createThread(threads.get(i), states.get(i));
+					}
+				}
+				if (fLazyThreadInitialization) {
+					fLazyThreadInitialization = false;
+					new ThreadPropertiesJob().schedule();
 				}
 			}
 		}
@@ -601,9 +679,82 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		manager.addBreakpointListener(this);
 		IBreakpoint[] bps = manager.getBreakpoints(JDIDebugModel
 				.getPluginIdentifier());
-		for (IBreakpoint bp : bps) {
-			if (bp instanceof IJavaBreakpoint) {
-				breakpointAdded(bp);
+		Map<JavaBreakpoint, String> deferred;
+		synchronized (this) {
+			fDeferredClassResolutions = new LinkedHashMap<>();
+		}
+		try {
+			for (IBreakpoint bp : bps) {
+				if (bp instanceof IJavaBreakpoint) {
+					breakpointAdded(bp);
+				}
+			}
+		} finally {
+			synchronized (this) {
+				deferred = fDeferredClassResolutions;
+				fDeferredClassResolutions = null;
+			}
+		}
+		resolveDeferredClasses(deferred);
+	}
+
+	/**
+	 * Defers the retrieval of the loaded classes of the given type for the
+	 * given breakpoint while breakpoints are initialized, so that the classes
+	 * of all breakpoints are retrieved in one batch. The breakpoint must have
+	 * created its class prepare requests, and is passed the classes through
+	 * {@link JavaBreakpoint#createRequests(JDIDebugTarget, List)}.
+	 *
+	 * @param breakpoint
+	 *            the breakpoint being installed
+	 * @param typeName
+	 *            the name of the type of the breakpoint
+	 * @return whether the retrieval is deferred, <code>false</code> if the
+	 *         breakpoint must retrieve the classes itself
+	 */
+	public synchronized boolean deferClassResolution(JavaBreakpoint breakpoint, String typeName) {
+		if (fDeferredClassResolutions == null) {
+			return false;
+		}
+		fDeferredClassResolutions.put(breakpoint, typeName);
+		return true;
+	}
+
+	/**
+	 * Retrieves the loaded classes of the types of the given breakpoints in
+	 * one batch and creates the breakpoint requests in them.
+	 *
+	 * @param deferred
+	 *            the type names of breakpoints whose classes were deferred
+	 */
+	private void resolveDeferredClasses(Map<JavaBreakpoint, String> deferred) {
+		if (deferred.isEmpty()) {
+			return;
+		}
+		List<String> names = new ArrayList<>(new LinkedHashSet<>(deferred.values()));
+		List<List<ReferenceType>> classes = jdiClassesByNames(names);
+		Map<String, List<ReferenceType>> classesByName = new HashMap<>(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			classesByName.put(names.get(i), classes.get(i));
+		}
+		for (Map.Entry<JavaBreakpoint, String> entry : deferred.entrySet()) {
+			JavaBreakpoint breakpoint = entry.getKey();
+			if (!isAvailable()) {
+				return;
+			}
+			if (!getBreakpoints().contains(breakpoint)) {
+				continue;
+			}
+			try {
+				// classes prepared meanwhile may already have requests
+				List<ReferenceType> loaded = classesByName.get(entry.getValue());
+				List<ReferenceType> types = breakpoint.getClassesWithoutRequests(this, loaded);
+				if (types.isEmpty() && !loaded.isEmpty()) {
+					continue;
+				}
+				breakpoint.createRequests(this, types);
+			} catch (CoreException e) {
+				logError(e);
 			}
 		}
 	}
@@ -619,15 +770,37 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return model thread
 	 */
 	protected JDIThread createThread(ThreadReference thread) {
-		JDIThread jdiThread = newThread(thread);
+		return createThread(thread, null);
+	}
+
+	/**
+	 * Creates, adds and returns a thread for the given underlying thread
+	 * reference, initialized from a snapshot of its state.
+	 *
+	 * @param thread
+	 *            underlying thread
+	 * @param state
+	 *            snapshot of the state of the underlying thread, or
+	 *            <code>null</code> to query the thread
+	 * @return model thread
+	 * @see #createThread(ThreadReference)
+	 */
+	protected JDIThread createThread(ThreadReference thread, ThreadReferenceImpl.State state) {
+		JDIThread jdiThread = state == null ? newThread(thread) : newThread(thread, state);
 		if (jdiThread == null) {
 			return null;
 		}
 		if (isDisconnected()) {
 			return null;
 		}
-		synchronized (fThreads) {
-			fThreads.add(jdiThread);
+		synchronized (fThreadsInOrder) {
+			jdiThread.setSequence(fThreadSequence.incrementAndGet());
+			JDIThread existing = fThreads.putIfAbsent(Long.valueOf(thread.uniqueID()), jdiThread);
+			if (existing != null) {
+				// the thread has already been added, i.e. by a thread start event
+				return existing;
+			}
+			fThreadsInOrder.put(Long.valueOf(jdiThread.getSequence()), jdiThread);
 		}
 		jdiThread.fireCreationEvent();
 		return jdiThread;
@@ -651,25 +824,42 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return null;
 	}
 
+	/**
+	 * Factory method for creating new threads from a snapshot of the state of
+	 * the underlying thread.
+	 *
+	 * @param reference
+	 *            thread reference
+	 * @param state
+	 *            snapshot of the state of the thread
+	 * @return JDI model thread
+	 * @see #newThread(ThreadReference)
+	 */
+	protected JDIThread newThread(ThreadReference reference, ThreadReferenceImpl.State state) {
+		try {
+			return new JDIThread(this, reference, state);
+		} catch (ObjectCollectedException exception) {
+			// ObjectCollectionException can be thrown if the thread has already
+			// completed (exited) in the VM.
+		}
+		return null;
+	}
+
 	@Override
 	public IThread[] getThreads() {
-		synchronized (fThreads) {
-			IThread[] threads = new IThread[fThreads.size()];
-			int index = 0;
-			for (JDIThread thread : fThreads) {
-				if (!thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
-			}
-			for (JDIThread thread : fThreads) {
-				if (thread.isSystemThread()) {
-					threads[index] = thread;
-					++index;
-				}
+		List<IThread> threads = new ArrayList<>();
+		List<IThread> systemThreads = new ArrayList<>();
+		// do not determine the properties of lazily created threads here, and
+		// check each thread once as its properties may be determined meanwhile
+		for (JDIThread thread : fThreadsInOrder.values()) {
+			if (thread.isKnownSystemThread()) {
+				systemThreads.add(thread);
+			} else {
+				threads.add(thread);
 			}
-			return threads;
 		}
+		threads.addAll(systemThreads);
+		return threads.toArray(new IThread[threads.size()]);
 	}
 
 	@Override
@@ -887,6 +1077,50 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	public void setHCROccurred(boolean occurred) {
 		fHasHCROccurred = occurred;
+		if (occurred) {
+			fHCRCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the number of hot code replaces performed in this target. Data
+	 * derived from the code of this target's types is stale when this count
+	 * changes.
+	 *
+	 * @return the number of hot code replaces performed in this target
+	 */
+	public int getHCRCount() {
+		return fHCRCount.get();
+	}
+
+	/**
+	 * Returns the index of the class filters of the exception breakpoints in
+	 * the breakpoint manager, kept current while this target is available.
+	 *
+	 * @return the exception breakpoint index of this target
+	 */
+	public ExceptionBreakpointIndex getExceptionBreakpointIndex() {
+		return fExceptionBreakpointIndex;
+	}
+
+	/**
+	 * Returns the index of the classes loaded in the VM of this target, used
+	 * to resolve pattern based breakpoints.
+	 *
+	 * @return the loaded class index of this target
+	 */
+	public LoadedClassIndex getLoadedClassIndex() {
+		return fLoadedClassIndex;
+	}
+
+	/**
+	 * Returns the multiplexer of the class prepare requests shared by the
+	 * breakpoints in this target.
+	 *
+	 * @return the class prepare multiplexer of this target
+	 */
+	public ClassPrepareMultiplexer getClassPrepareMultiplexer() {
+		return fClassPrepareMultiplexer;
 	}
 
 	public void removeOutOfSynchTypes(List<String> qualifiedNames) {
@@ -952,7 +1186,8 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	}
 
 	/**
-	 * Reinstall all breakpoints installed in the given resources
+	 * Reinstall all breakpoints installed in the given resources, and discard
+	 * the compiled conditions of all other line breakpoints
 	 */
 	public void reinstallBreakpointsIn(List<String> classNames) {
 		List<IBreakpoint> breakpoints = getBreakpoints();
@@ -969,6 +1204,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 					if (classNames.contains(installedType)) {
 						breakpointRemoved(breakpoint, null);
 						breakpointAdded(breakpoint);
+					} else {
+						// conditions may refer to the replaced types
+						((JavaLineBreakpoint) breakpoint).clearCachedExpressionFor(this);
 					}
 				} catch (CoreException ce) {
 					logError(ce);
@@ -986,12 +1224,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * @return the associated model thread
 	 */
 	public JDIThread findThread(ThreadReference tr) {
-		Iterator<JDIThread> iter = getThreadIterator();
-		while (iter.hasNext()) {
-			JDIThread thread = iter.next();
-			if (thread.getUnderlyingThread().equals(tr)) {
-				return thread;
-			}
+		if (tr == null) {
+			return null;
+		}
+		JDIThread thread = fThreads.get(Long.valueOf(tr.uniqueID()));
+		if (thread != null && thread.getUnderlyingThread().equals(tr)) {
+			return thread;
 		}
 		return null;
 	}
@@ -1555,6 +1793,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (!isAvailable()) {
 			return;
 		}
+		if (breakpoint instanceof JavaExceptionBreakpoint) {
+			fExceptionBreakpointIndex.breakpointChanged((JavaExceptionBreakpoint) breakpoint);
+		}
 		if (supportsBreakpoint(breakpoint)) {
 			try {
 				JavaBreakpoint javaBreakpoint = (JavaBreakpoint) breakpoint;
@@ -1586,6 +1827,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	@Override
 	public void breakpointChanged(IBreakpoint breakpoint, IMarkerDelta delta) {
+		if (isAvailable() && breakpoint instanceof JavaExceptionBreakpoint) {
+			fExceptionBreakpointIndex.breakpointChanged((JavaExceptionBreakpoint) breakpoint);
+		}
 	}
 
 	/**
@@ -1601,6 +1845,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		if (!isAvailable()) {
 			return;
 		}
+		if (breakpoint instanceof JavaExceptionBreakpoint) {
+			fExceptionBreakpointIndex.breakpointRemoved((JavaExceptionBreakpoint) breakpoint);
+		}
 		if (supportsBreakpoint(breakpoint)) {
 			try {
 				((JavaBreakpoint) breakpoint).removeFromTarget(this);
@@ -1676,15 +1923,114 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 * Notifies threads that they have been resumed
 	 */
 	protected void resumeThreads() throws DebugException {
-		Iterator<JDIThread> threads = getThreadIterator();
-		while (threads.hasNext()) {
-			JDIThread thread = threads.next();
+		List<JDIThread> threads = new ArrayList<>();
+		Iterator<JDIThread> iterator = getThreadIterator();
+		while (iterator.hasNext()) {
+			JDIThread thread = iterator.next();
 			if (!thread.isBreakpointHandlingOngoing()) {
-				thread.resumedByVM();
+				threads.add(thread);
+			}
+		}
+		List<Integer> suspendCounts = getThreadSuspendCounts(threads);
+		for (int i = 0; i < threads.size(); i++) {
+			if (suspendCounts == null) {
+				threads.get(i).resumedByVM();
+			} else {
+				Integer suspendCount = suspendCounts.get(i);
+				// collected threads have nothing left to resume
+				threads.get(i).resumedByVM(suspendCount == null ? 0 : suspendCount.intValue());
 			}
 		}
 	}
 
+	/**
+	 * Returns the suspend count of the underlying threads of the given
+	 * threads, retrieved with one burst of requests.
+	 *
+	 * @param threads
+	 *            the threads to get the suspend count of
+	 * @return the suspend count of each thread in the order of the given
+	 *         threads, <code>null</code> for threads that have been
+	 *         collected, or <code>null</code> if the suspend counts are not
+	 *         available and the threads must be queried one at a time
+	 * @see #getThreadStates(List)
+	 */
+	private List<Integer> getThreadSuspendCounts(List<JDIThread> threads) {
+		VirtualMachine vm = getVM();
+		if (!(vm instanceof VirtualMachineImpl) || threads.isEmpty()) {
+			return null;
+		}
+		List<ThreadReference> references = new ArrayList<>(threads.size());
+		for (JDIThread thread : threads) {
+			references.add(thread.getUnderlyingThread());
+		}
+		try {
+			return ThreadReferenceImpl.suspendCounts((VirtualMachineImpl) vm, references);
+		} catch (VMDisconnectedException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			// fall back to querying each thread, which reports the failure
+			logError(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether threads are being created without determining their
+	 * properties, see {@link JDIThread#resolveProperties()}.
+	 *
+	 * @return whether threads are being created lazily
+	 */
+	boolean isLazyThreadInitialization() {
+		return fLazyThreadInitialization;
+	}
+
+	/**
+	 * Returns a snapshot of the state of the underlying threads of the given
+	 * threads, retrieved with one burst of requests rather than one or more
+	 * round trips per thread.
+	 *
+	 * @param threads
+	 *            the threads to get the state of
+	 * @return the state of each thread in the order of the given threads,
+	 *         <code>null</code> for threads that have been collected, or
+	 *         <code>null</code> if the snapshot is not available and the
+	 *         threads must be queried one at a time
+	 */
+	private List<ThreadReferenceImpl.State> getThreadStates(List<JDIThread> threads) {
+		List<ThreadReference> references = new ArrayList<>(threads.size());
+		for (JDIThread thread : threads) {
+			references.add(thread.getUnderlyingThread());
+		}
+		return getThreadReferenceStates(references);
+	}
+
+	/**
+	 * Returns a snapshot of the state of the given thread references.
+	 *
+	 * @param threads
+	 *            the thread references to get the state of
+	 * @return the state of each thread in the order of the given threads,
+	 *         <code>null</code> for threads that have been collected, or
+	 *         <code>null</code> if the snapshot is not available
+	 * @see #getThreadStates(List)
+	 */
+	private List<ThreadReferenceImpl.State> getThreadReferenceStates(List<ThreadReference> threads) {
+		VirtualMachine vm = getVM();
+		if (!(vm instanceof VirtualMachineImpl) || threads.isEmpty()) {
+			return null;
+		}
+		try {
+			return ThreadReferenceImpl.states((VirtualMachineImpl) vm, threads);
+		} catch (VMDisconnectedException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			// fall back to querying each thread, which reports the failure
+			logError(e);
+			return null;
+		}
+	}
+
 	/**
 	 * Notifies this VM to update its state in preparation for a suspend.
 	 *
@@ -1837,8 +2183,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			JDIThread child = itr.next();
 			child.terminated();
 		}
-		synchronized (fThreads) {
+		synchronized (fThreadsInOrder) {
 			fThreads.clear();
+			fThreadsInOrder.clear();
 		}
 	}
 
@@ -1898,6 +2245,39 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		return Collections.EMPTY_LIST;
 	}
 
+	/**
+	 * Returns the loaded classes of each of the given class names, retrieved
+	 * from the VM in one batch when supported.
+	 *
+	 * @param classNames
+	 *            fully qualified class names
+	 * @return the loaded classes of each name, in the order of the names
+	 */
+	public List<List<ReferenceType>> jdiClassesByNames(List<String> classNames) {
+		VirtualMachine vm = getVM();
+		if (vm instanceof VirtualMachineImpl) {
+			try {
+				List<List<ReferenceType>> classes = ((VirtualMachineImpl) vm).classesByNames(classNames);
+				if (classes != null) {
+					return classes;
+				}
+			} catch (VMDisconnectedException e) {
+				if (!isAvailable()) {
+					return Collections.nCopies(classNames.size(), Collections.emptyList());
+				}
+				logError(e);
+			} catch (RuntimeException e) {
+				// fall back to retrieving the classes of each name
+				logError(e);
+			}
+		}
+		List<List<ReferenceType>> classes = new ArrayList<>(classNames.size());
+		for (String className : classNames) {
+			classes.add(jdiClassesByName(className));
+		}
+		return classes;
+	}
+
 	@Override
 	public IJavaVariable findVariable(String varName) throws DebugException {
 		IThread[] threads = getThreads();
@@ -2275,7 +2655,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 */
 	class ThreadDeathHandler implements IJDIEventListener {
 
-		// terminated threads marked for removal from the fThreads list
+		// terminated threads marked for removal from the fThreads map
 		private final Map<Event, JDIThread> toRemove = Collections.synchronizedMap(new HashMap<>());
 
 		protected ThreadDeathHandler() {
@@ -2338,8 +2718,9 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
 			JDIThread thread = toRemove.remove(event);
 			if (thread != null) {
-				synchronized (fThreads) {
-					fThreads.remove(thread);
+				synchronized (fThreadsInOrder) {
+					fThreads.remove(Long.valueOf(thread.getUnderlyingThread().uniqueID()), thread);
+					fThreadsInOrder.remove(Long.valueOf(thread.getSequence()), thread);
 				}
 			}
 		}
@@ -2511,6 +2892,44 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Job to determine the properties of threads that were added lazily when
+	 * this target was created.
+	 */
+	class ThreadPropertiesJob extends Job {
+
+		public ThreadPropertiesJob() {
+			super(JDIDebugModelMessages.JDIDebugTarget_ThreadProperties);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Iterator<JDIThread> threads = getThreadIterator();
+			while (threads.hasNext() && isAvailable()) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				try {
+					threads.next().resolveProperties();
+				} catch (ObjectCollectedException e) {
+					// the thread has died
+				}
+			}
+			if (isAvailable()) {
+				// system threads are listed last
+				fireChangeEvent(DebugEvent.CONTENT);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JDIDebugTarget.this;
+		}
+	}
+
 	class CleanUpJob extends Job {
 
 		/**
@@ -2739,7 +3158,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 
 	@Override
 	public boolean hasThreads() {
-		return fThreads.size() > 0;
+		return !fThreads.isEmpty();
 	}
 
 	@Override
@@ -2752,7 +3171,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 	 *
 	 * @return the number of suspend events that have occurred in this target
 	 */
-	protected int getSuspendCount() {
+	public int getSuspendCount() {
 		return fSuspendCount.get();
 	}
 
@@ -2770,6 +3189,25 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		}
 	}
 
+	/**
+	 * Returns the number of resume and change events that have been fired by
+	 * this target and its elements, including those of implicit evaluations.
+	 * Values retrieved from the target are current as long as this count does
+	 * not change.
+	 *
+	 * @return the number of resume and change events of this target
+	 */
+	public int getStateChangeCount() {
+		return fStateChangeCount.get();
+	}
+
+	/**
+	 * Increments the resume and change event counter for this target.
+	 */
+	void incrementStateChangeCount() {
+		fStateChangeCount.getAndIncrement();
+	}
+
 	/**
 	 * Returns an evaluation engine for the given project, creating one if
 	 * necessary.
@@ -3073,13 +3511,24 @@ public class JDIDebugTarget extends JDIDebugElement implements
 		List<JDIThread> toSuspend = new ArrayList<>();
 		List<JDIThread> toResume = new ArrayList<>();
 		List<JDIThread> toRefresh = new ArrayList<>();
-		Iterator<JDIThread> iterator = getThreadIterator();
-		while (iterator.hasNext()) {
-			JDIThread thread = iterator.next();
+		List<JDIThread> threads = new ArrayList<>(fThreads.values());
+		List<ThreadReferenceImpl.State> states = getThreadStates(threads);
+		Map<JDIThread, Integer> suspendCounts = new HashMap<>();
+		for (int i = 0; i < threads.size(); i++) {
+			JDIThread thread = threads.get(i);
 			boolean modelSuspended = thread.isSuspended();
 			ThreadReference reference = thread.getUnderlyingThread();
 			try {
-				boolean realSuspended = reference.isSuspended();
+				boolean realSuspended;
+				if (states == null) {
+					realSuspended = reference.isSuspended();
+				} else if (states.get(i) == null) {
+					// the thread has been collected, its death event removes it
+					continue;
+				} else {
+					realSuspended = states.get(i).isSuspended();
+					suspendCounts.put(thread, Integer.valueOf(states.get(i).suspendCount()));
+				}
 				if (realSuspended) {
 					if (modelSuspended) {
 						// Even if the model is suspended, it might be in a
@@ -3117,6 +3566,7 @@ public class JDIDebugTarget extends JDIDebugElement implements
 				targetLevelEvent = true;
 			}
 		}
+		Iterator<JDIThread> iterator;
 		if (targetLevelEvent) {
 			iterator = toSuspend.iterator();
 			while (iterator.hasNext()) {
@@ -3126,7 +3576,12 @@ public class JDIDebugTarget extends JDIDebugElement implements
 			iterator = toResume.iterator();
 			while (iterator.hasNext()) {
 				JDIThread thread = iterator.next();
-				thread.resumedByVM();
+				Integer suspendCount = suspendCounts.get(thread);
+				if (suspendCount == null) {
+					thread.resumedByVM();
+				} else {
+					thread.resumedByVM(suspendCount.intValue());
+				}
 			}
 			iterator = toRefresh.iterator();
 			while (iterator.hasNext()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 Jesper Steen Moller and others.
+ * Copyright (c) 2010, 2026 Jesper Steen Moller and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@
 
 package org.eclipse.jdt.internal.debug.core.model;
 
+import java.util.Arrays;
+
 import com.sun.jdi.Method;
 
 /**
@@ -44,6 +46,39 @@ public class JDIMethod {
 
 	private static final int RETURN = 0xb1;
 
+	private static final int TABLESWITCH = 0xaa;
+	private static final int LOOKUPSWITCH = 0xab;
+	private static final int ATHROW = 0xbf;
+	private static final int WIDE = 0xc4;
+	private static final int IINC = 0x84;
+
+	/**
+	 * Length of the instructions with a fixed length by opcode, <code>0</code>
+	 * for unknown opcodes and instructions with a variable length.
+	 */
+	private static final byte[] INSTRUCTION_LENGTHS = new byte[256];
+
+	static {
+		Arrays.fill(INSTRUCTION_LENGTHS, 0x00, 0xca, (byte) 1);
+		setInstructionLength(2, 0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36,
+				0x37, 0x38, 0x39, 0x3a, 0xa9, 0xbc);
+		setInstructionLength(3, 0x11, 0x13, 0x14, 0x84, 0xb2, 0xb3, 0xb4, 0xb5,
+				0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1, 0xc6, 0xc7);
+		for (int opCode = 0x99; opCode <= 0xa8; opCode++) {
+			// conditional branches, goto and jsr
+			INSTRUCTION_LENGTHS[opCode] = 3;
+		}
+		setInstructionLength(4, 0xc5);
+		setInstructionLength(5, 0xb9, 0xba, 0xc8, 0xc9);
+		setInstructionLength(0, TABLESWITCH, LOOKUPSWITCH, WIDE);
+	}
+
+	private static void setInstructionLength(int length, int... opCodes) {
+		for (int opCode : opCodes) {
+			INSTRUCTION_LENGTHS[opCode] = (byte) length;
+		}
+	}
+
 	/**
 	 * Determines if the opcode passes in is one of the value return
 	 * instructions.
@@ -58,6 +93,64 @@ public class JDIMethod {
 				|| (opCode & 0xFF) == ARETURN;
 	}
 
+	/**
+	 * Returns the code indexes of the return instructions of the given method.
+	 * <p>
+	 * Methods containing an 'athrow' instruction are not analysed, as whether
+	 * the exception it throws exits the method or is caught within it is not
+	 * known before it is thrown.
+	 * </p>
+	 *
+	 * @param method
+	 *            Method to analyse, having byte code
+	 * @return the code indexes of the return instructions in ascending order or
+	 *         <code>null</code> if the byte code contains an 'athrow' or an
+	 *         unknown instruction
+	 */
+	public static long[] getReturnCodeIndexes(Method method) {
+		byte[] bytecodes = method.bytecodes();
+		long[] indexes = new long[8];
+		int count = 0;
+		int pc = 0;
+		while (pc < bytecodes.length) {
+			int opCode = bytecodes[pc] & 0xFF;
+			int length = INSTRUCTION_LENGTHS[opCode];
+			if (opCode == TABLESWITCH || opCode == LOOKUPSWITCH) {
+				// operands are aligned on 4 bytes
+				int operands = (pc + 4) & ~3;
+				if (operands + 12 > bytecodes.length) {
+					return null;
+				}
+				if (opCode == TABLESWITCH) {
+					long entries = (long) readInt(bytecodes, operands + 8) - readInt(bytecodes, operands + 4) + 1;
+					length = (int) Math.min(Integer.MAX_VALUE, operands + 12 + entries * 4 - pc);
+				} else {
+					long pairs = readInt(bytecodes, operands + 4);
+					length = (int) Math.min(Integer.MAX_VALUE, operands + 8 + pairs * 8 - pc);
+				}
+			} else if (opCode == WIDE && pc + 1 < bytecodes.length) {
+				length = (bytecodes[pc + 1] & 0xFF) == IINC ? 6 : 4;
+			} else if (opCode == ATHROW) {
+				return null;
+			} else if (isXReturn(bytecodes[pc]) || opCode == RETURN) {
+				if (count == indexes.length) {
+					indexes = Arrays.copyOf(indexes, count * 2);
+				}
+				indexes[count++] = pc;
+			}
+			if (length <= 0 || length > bytecodes.length - pc) {
+				return null;
+			}
+			pc += length;
+		}
+		return Arrays.copyOf(indexes, count);
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+				| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
 	/**
 	 * Determines if the opcode passes in is one of the 'loado_1' instruxtions.
 	 *
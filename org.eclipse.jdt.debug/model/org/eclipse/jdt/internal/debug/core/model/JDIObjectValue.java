@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,8 @@ import java.util.List;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.jdi.internal.InterfaceTypeImpl;
+import org.eclipse.jdi.internal.ObjectReferenceImpl;
+import org.eclipse.jdi.internal.VirtualMachineImpl;
 import org.eclipse.jdt.debug.core.IJavaFieldVariable;
 import org.eclipse.jdt.debug.core.IJavaObject;
 import org.eclipse.jdt.debug.core.IJavaThread;
@@ -39,6 +41,7 @@ import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMDisconnectedException;
+import com.sun.jdi.VirtualMachine;
 import com.sun.jdi.Value;
 
 /**
@@ -643,4 +646,98 @@ public class JDIObjectValue extends JDIValue implements IJavaObject {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Prevents garbage collection of the given objects of the given target. The
+	 * requests for all objects are sent as one batch when supported by the
+	 * underlying VM.
+	 * If this fails, garbage collection is not prevented for any of the
+	 * objects.
+	 *
+	 * @param target
+	 *            the debug target of the objects
+	 * @param objects
+	 *            the objects to prevent garbage collection for
+	 * @exception DebugException
+	 *                if this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure communicating with the VM. The
+	 *                DebugException's status code contains the underlying
+	 *                exception responsible for the failure.</li>
+	 *                </ul>
+	 * @see #disableCollection()
+	 */
+	public static void disableCollection(JDIDebugTarget target, List<? extends IJavaObject> objects) throws DebugException {
+		setCollection(target, objects, true);
+	}
+
+	/**
+	 * Permits garbage collection of the given objects of the given target. The
+	 * requests for all objects are sent as one batch when supported by the
+	 * underlying VM.
+	 *
+	 * @param target
+	 *            the debug target of the objects
+	 * @param objects
+	 *            the objects to permit garbage collection for
+	 * @exception DebugException
+	 *                if this method fails. Reasons include:
+	 *                <ul>
+	 *                <li>Failure communicating with the VM. The
+	 *                DebugException's status code contains the underlying
+	 *                exception responsible for the failure.</li>
+	 *                </ul>
+	 * @see #enableCollection()
+	 */
+	public static void enableCollection(JDIDebugTarget target, List<? extends IJavaObject> objects) throws DebugException {
+		setCollection(target, objects, false);
+	}
+
+	private static void setCollection(JDIDebugTarget target, List<? extends IJavaObject> objects, boolean disable) throws DebugException {
+		if (objects.isEmpty() || !target.supportsSelectiveGarbageCollection()) {
+			return;
+		}
+		VirtualMachine vm = target.getVM();
+		List<ObjectReference> references = new ArrayList<>(objects.size());
+		List<IJavaObject> disabled = new ArrayList<>();
+		try {
+			for (IJavaObject object : objects) {
+				ObjectReference reference = object instanceof JDIObjectValue ? ((JDIObjectValue) object).getUnderlyingObject() : null;
+				if (vm instanceof VirtualMachineImpl && reference instanceof ObjectReferenceImpl) {
+					references.add(reference);
+				} else if (disable) {
+					object.disableCollection();
+					disabled.add(object);
+				} else {
+					object.enableCollection();
+				}
+			}
+			if (references.isEmpty()) {
+				return;
+			}
+			try {
+				if (disable) {
+					ObjectReferenceImpl.disableCollection((VirtualMachineImpl) vm, references);
+				} else {
+					ObjectReferenceImpl.enableCollection((VirtualMachineImpl) vm, references);
+				}
+			} catch (UnsupportedOperationException e) {
+				// The VM does not support enable/disable GC - update target
+				// capabilities and ignore (bug 246577)
+				target.setSupportsSelectiveGarbageCollection(false);
+			} catch (RuntimeException e) {
+				target.targetRequestFailed(disable ? JDIDebugModelMessages.JDIObjectValue_13 : JDIDebugModelMessages.JDIObjectValue_14, e);
+			}
+		} catch (DebugException e) {
+			// don't leave objects that could not all be protected pinned
+			for (IJavaObject object : disabled) {
+				try {
+					object.enableCollection();
+				} catch (DebugException e2) {
+					// report the original failure
+				}
+			}
+			throw e;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -296,6 +296,16 @@ public class JDIStackFrame extends JDIDebugElement implements IJavaStackFrame {
 		}
 	}
 
+	/**
+	 * Returns the underlying location of this stack frame, without
+	 * communicating with the VM.
+	 */
+	public Location getUnderlyingLocation() {
+		synchronized (fThread) {
+			return fLocation;
+		}
+	}
+
 	/**
 	 * @see IStackFrame#getVariables()
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.eclipse.debug.core.model.IStepFilter;
 import org.eclipse.debug.core.model.ISuspendResume;
 import org.eclipse.debug.core.model.ITerminate;
 import org.eclipse.debug.core.model.IThread;
+import org.eclipse.jdi.internal.ThreadReferenceImpl;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.debug.core.IEvaluationRunnable;
 import org.eclipse.jdt.debug.core.IJavaBreakpoint;
@@ -167,16 +168,35 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	private volatile boolean fTerminated;
 
 	/**
-	 * Whether this thread is a system thread.
+	 * Whether this thread is a system thread. Read without the properties
+	 * lock, see {@link #isKnownSystemThread()}.
 	 */
-	private boolean fIsSystemThread;
+	private volatile boolean fIsSystemThread;
 
 	/**
 	 * Whether this thread is a daemon thread
 	 *
 	 * @since 3.3
 	 */
-	private boolean fIsDaemon;
+	private volatile boolean fIsDaemon;
+
+	/**
+	 * Whether the system thread and daemon properties of this thread have been
+	 * determined and its thread group has been added to the debug target.
+	 * Threads created lazily on attach determine them on first access.
+	 */
+	private volatile boolean fPropertiesResolved;
+
+	/**
+	 * Lock used to determine the properties of this thread only once
+	 */
+	private final Object fPropertiesLock = new Object();
+
+	/**
+	 * Position of this thread in the order in which threads were added to its
+	 * debug target
+	 */
+	private volatile long fSequence;
 
 	/**
 	 * Lock used to guard access to internal data that need to be updated in atomic manner
@@ -336,10 +356,30 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 */
 	public JDIThread(JDIDebugTarget target, ThreadReference thread)
 			throws ObjectCollectedException {
+		this(target, thread, null);
+	}
+
+	/**
+	 * Creates a new thread on the underlying thread reference in the given
+	 * debug target, initialized from a snapshot of the state of the thread.
+	 *
+	 * @param target
+	 *            the debug target in which this thread is contained
+	 * @param thread
+	 *            the underlying thread on the VM
+	 * @param state
+	 *            snapshot of the state of the underlying thread, or
+	 *            <code>null</code> to query the thread
+	 * @exception ObjectCollectedException
+	 *                if the underlying thread has been garbage collected and
+	 *                cannot be properly initialized
+	 */
+	public JDIThread(JDIDebugTarget target, ThreadReference thread, ThreadReferenceImpl.State state)
+			throws ObjectCollectedException {
 		super(target);
 		setUnderlyingThread(thread);
 		fAsyncJob = new ThreadJob();
-		initialize();
+		initialize(state);
 		fCompletingBreakpointHandling = new AtomicBoolean(false);
 		fHandlingSuspendForBreakpoint = new AtomicBoolean(false);
 	}
@@ -358,51 +398,51 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *                initialized
 	 */
 	protected void initialize() throws ObjectCollectedException {
+		initialize(null);
+	}
+
+	/**
+	 * Thread initialization from a snapshot of the state of the underlying
+	 * thread, see {@link #initialize()}.
+	 *
+	 * @param state
+	 *            snapshot of the state of the underlying thread, or
+	 *            <code>null</code> to query the thread
+	 * @exception ObjectCollectedException
+	 *                if the thread has been garbage collected and cannot be
+	 *                initialized
+	 */
+	protected void initialize(ThreadReferenceImpl.State state) throws ObjectCollectedException {
 		fStackFrames = new Vector<>();
-		// system thread
-		try {
-			determineIfSystemThread();
-		} catch (DebugException e) {
-			Throwable underlyingException = e.getStatus().getException();
-			if (underlyingException instanceof VMDisconnectedException) {
-				// Threads may be created by the VM at shutdown
-				// as finalizers. The VM may be disconnected by
-				// the time we hear about the thread creation.
-				disconnected();
-				return;
-			}
-			if (underlyingException instanceof ObjectCollectedException) {
-				throw (ObjectCollectedException) underlyingException;
-			}
-			logError(e);
+		if (state != null) {
+			fPreviousName = state.name();
 		}
-
-		try {
-			determineIfDaemonThread();
-		} catch (DebugException e) {
-			Throwable underlyingException = e.getStatus().getException();
-			if (underlyingException instanceof VMDisconnectedException) {
-				// Threads may be created by the VM at shutdown
-				// as finalizers. The VM may be disconnected by
-				// the time we hear about the thread creation.
+		if (state != null && getJavaDebugTarget().isLazyThreadInitialization()) {
+			// only register the thread group, the remaining properties are
+			// determined on first access or in the background
+			ThreadGroupReference group = state.threadGroup();
+			try {
+				if (group != null) {
+					getJavaDebugTarget().addThreadGroup(group);
+				}
+			} catch (VMDisconnectedException e) {
 				disconnected();
 				return;
+			} catch (RuntimeException e) {
+				logError(e);
 			}
-			logError(e);
-		}
-
-		try {
-			ThreadGroupReference group = getUnderlyingThreadGroup();
-			// might already be terminated
-			if (group != null) {
-				getJavaDebugTarget().addThreadGroup(group);
-			}
-		} catch (DebugException e1) {
+		} else if (!resolveProperties()) {
+			return;
 		}
 
 		// state
 		setTerminated(false);
 		setRunning(false);
+		if (state != null) {
+			// see bug 30816
+			setRunning(state.status() == ThreadReference.THREAD_STATUS_UNKNOWN || !state.isSuspended());
+			return;
+		}
 		try {
 			// see bug 30816
 			if (fThread.status() == ThreadReference.THREAD_STATUS_UNKNOWN) {
@@ -435,6 +475,83 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		}
 	}
 
+	/**
+	 * Determines whether this thread is a system thread and whether it is a
+	 * daemon thread, and adds its thread group to the debug target, unless
+	 * this has already been done.
+	 *
+	 * @return <code>false</code> if the VM disconnected, <code>true</code>
+	 *         otherwise
+	 * @exception ObjectCollectedException
+	 *                if the thread has been garbage collected
+	 */
+	protected boolean resolveProperties() throws ObjectCollectedException {
+		if (fPropertiesResolved) {
+			return true;
+		}
+		synchronized (fPropertiesLock) {
+			if (fPropertiesResolved) {
+				return true;
+			}
+			// system thread
+			try {
+				determineIfSystemThread();
+			} catch (DebugException e) {
+				Throwable underlyingException = e.getStatus().getException();
+				if (underlyingException instanceof VMDisconnectedException) {
+					// Threads may be created by the VM at shutdown
+					// as finalizers. The VM may be disconnected by
+					// the time we hear about the thread creation.
+					disconnected();
+					return false;
+				}
+				if (underlyingException instanceof ObjectCollectedException) {
+					throw (ObjectCollectedException) underlyingException;
+				}
+				logError(e);
+			}
+
+			try {
+				determineIfDaemonThread();
+			} catch (DebugException e) {
+				Throwable underlyingException = e.getStatus().getException();
+				if (underlyingException instanceof VMDisconnectedException) {
+					// Threads may be created by the VM at shutdown
+					// as finalizers. The VM may be disconnected by
+					// the time we hear about the thread creation.
+					disconnected();
+					return false;
+				}
+				logError(e);
+			}
+
+			try {
+				ThreadGroupReference group = getUnderlyingThreadGroup();
+				// might already be terminated
+				if (group != null) {
+					getJavaDebugTarget().addThreadGroup(group);
+				}
+			} catch (DebugException e1) {
+			}
+			fPropertiesResolved = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Determines the properties of this thread if not yet done, ignoring a
+	 * thread that no longer exists.
+	 *
+	 * @see #resolveProperties()
+	 */
+	private void resolvePropertiesQuietly() {
+		try {
+			resolveProperties();
+		} catch (ObjectCollectedException e) {
+			// the thread does not exist anymore
+		}
+	}
+
 	/**
 	 * Adds the given breakpoint to the list of breakpoints this thread is
 	 * suspended at
@@ -533,30 +650,35 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *                </ul>
 	 */
 	protected void determineIfSystemThread() throws DebugException {
-		fIsSystemThread = false;
-		ThreadGroupReference tgr = getUnderlyingThreadGroup();
-		fIsSystemThread = tgr != null;
-		while (tgr != null) {
-			String tgn = null;
-			try {
-				tgn = tgr.name();
-				tgr = tgr.parent();
-			} catch (UnsupportedOperationException e) {
-				fIsSystemThread = false;
-				break;
-			} catch (RuntimeException e) {
-				targetRequestFailed(
-						MessageFormat.format(
-								JDIDebugModelMessages.JDIThread_exception_determining_if_system_thread,
-								e.toString()), e);
-				// execution will not reach this line, as
-				// #targetRequestFailed will throw an exception
-				return;
-			}
-			if (tgn != null && tgn.equals(MAIN_THREAD_GROUP)) {
-				fIsSystemThread = false;
-				break;
+		boolean isSystemThread = false;
+		try {
+			ThreadGroupReference tgr = getUnderlyingThreadGroup();
+			isSystemThread = tgr != null;
+			while (tgr != null) {
+				String tgn = null;
+				try {
+					tgn = tgr.name();
+					tgr = tgr.parent();
+				} catch (UnsupportedOperationException e) {
+					isSystemThread = false;
+					break;
+				} catch (RuntimeException e) {
+					targetRequestFailed(
+							MessageFormat.format(
+									JDIDebugModelMessages.JDIThread_exception_determining_if_system_thread,
+									e.toString()), e);
+					// execution will not reach this line, as
+					// #targetRequestFailed will throw an exception
+					return;
+				}
+				if (tgn != null && tgn.equals(MAIN_THREAD_GROUP)) {
+					isSystemThread = false;
+					break;
+				}
 			}
+		} finally {
+			// publish the result once, the thread is read without a lock
+			fIsSystemThread = isSystemThread;
 		}
 	}
 
@@ -1574,11 +1696,44 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 
 	@Override
 	public boolean isSystemThread() {
+		resolvePropertiesQuietly();
+		return fIsSystemThread;
+	}
+
+	/**
+	 * Returns the position of this thread in the order in which threads were
+	 * added to its debug target.
+	 *
+	 * @return position of this thread in its debug target
+	 */
+	long getSequence() {
+		return fSequence;
+	}
+
+	/**
+	 * Sets the position of this thread in the order in which threads were
+	 * added to its debug target.
+	 *
+	 * @param sequence
+	 *            position of this thread in its debug target
+	 */
+	void setSequence(long sequence) {
+		fSequence = sequence;
+	}
+
+	/**
+	 * Returns whether this thread is known to be a system thread, without
+	 * determining the properties of a thread that has been created lazily.
+	 *
+	 * @return whether this thread is known to be a system thread
+	 */
+	boolean isKnownSystemThread() {
 		return fIsSystemThread;
 	}
 
 	@Override
 	public boolean isDaemon() throws DebugException {
+		resolvePropertiesQuietly();
 		return fIsDaemon;
 	}
 
@@ -2038,6 +2193,19 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 	 *             if an exception occurs
 	 */
 	protected synchronized void resumedByVM() throws DebugException {
+		resumedByVM(-1);
+	}
+
+	/**
+	 * Notifies this thread that is about to be resumed due to a VM resume.
+	 *
+	 * @param suspendCount
+	 *            the suspend count of the underlying thread, fetched for all
+	 *            threads at once, or <code>-1</code> to query it
+	 * @throws DebugException
+	 *             if an exception occurs
+	 */
+	protected synchronized void resumedByVM(int suspendCount) throws DebugException {
 		fClientSuspendRequest = false;
 		setRunning(true);
 		clearMethodResult();
@@ -2048,8 +2216,14 @@ public class JDIThread extends JDIDebugElement implements IJavaThread {
 		// is no greater than 1. @see Bugs 23328 and 27622
 		ThreadReference thread = fThread;
 		try {
-			while (thread.suspendCount() > 1) {
-				thread.resume();
+			if (suspendCount < 0) {
+				while (thread.suspendCount() > 1) {
+					thread.resume();
+				}
+			} else {
+				for (int i = suspendCount; i > 1; i--) {
+					thread.resume();
+				}
 			}
 		} catch (ObjectCollectedException e) {
 		} catch (VMDisconnectedException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -248,9 +248,15 @@ public class JDIValue extends JDIDebugElement implements IJavaValue {
 				try {
 					int length = getArrayLength();
 					for (int i = 0; i < length; i++) {
-						fVariables.add(new JDIArrayEntryVariable(
-								getJavaDebugTarget(), getArrayReference(), i,
-								fLogicalParent));
+						if (this instanceof JDIArrayValue) {
+							fVariables.add(new JDIArrayEntryVariable(
+									getJavaDebugTarget(), (JDIArrayValue) this, i,
+									fLogicalParent));
+						} else {
+							fVariables.add(new JDIArrayEntryVariable(
+									getJavaDebugTarget(), getArrayReference(), i,
+									fLogicalParent));
+						}
 					}
 				} catch (DebugException e) {
 					if (e.getCause() instanceof ObjectCollectedException) {
@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.debug.core.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.internal.debug.core.IJDIEventListener;
+import org.eclipse.jdt.internal.debug.core.JDIDebugPlugin;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.ClassUnloadEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.request.ClassPrepareRequest;
+import com.sun.jdi.request.EventRequest;
+import com.sun.jdi.request.EventRequestManager;
+
+/**
+ * Index of the classes loaded in the VM of a debug target by name, used to
+ * resolve pattern based breakpoints without retrieving all loaded classes from
+ * the VM for each breakpoint.
+ * <p>
+ * The index is built from all loaded classes when first queried, and is then
+ * kept current by a class prepare and a class unload request shared by all
+ * queries. As class unload events only report the name of the unloaded class,
+ * the classes of an unloaded name are retrieved again when next queried.
+ * </p>
+ * <p>
+ * Class prepare events are handled asynchronously, so a query may miss a
+ * class that was prepared shortly before. Listeners querying this index after
+ * creating their own class prepare request are therefore reported the classes
+ * matching their query that this index learns about later, but that were
+ * prepared before their request was created, i.e. whose event set does not
+ * contain an event of their request.
+ * </p>
+ */
+public class LoadedClassIndex implements IJDIEventListener {
+
+	private final JDIDebugTarget fTarget;
+
+	/**
+	 * Loaded classes by name, <code>null</code> until the index is built.
+	 * Guarded by this index.
+	 */
+	private TreeMap<String, List<ReferenceType>> fClasses;
+
+	/**
+	 * Names of unloaded classes, guarded by this index
+	 */
+	private final Set<String> fUnloadedNames = new HashSet<>();
+
+	/**
+	 * Queries whose listeners are reported classes this index learns about
+	 * after the query, guarded by this index
+	 */
+	private final List<Query> fQueries = new ArrayList<>();
+
+	/**
+	 * Whether the requests keeping this index current have been created
+	 */
+	private boolean fRequestsCreated;
+
+	LoadedClassIndex(JDIDebugTarget target) {
+		fTarget = target;
+	}
+
+	/**
+	 * Returns the loaded classes whose name starts with the given prefix.
+	 *
+	 * @param prefix
+	 *            the prefix of the class names
+	 * @return the loaded classes whose name starts with the prefix
+	 */
+	public synchronized List<ReferenceType> getClassesWithPrefix(String prefix) {
+		List<ReferenceType> result = new ArrayList<>();
+		if (!ensureBuilt()) {
+			return result;
+		}
+		List<String> unloaded = new ArrayList<>();
+		for (Map.Entry<String, List<ReferenceType>> entry : fClasses.tailMap(prefix, true).entrySet()) {
+			if (!entry.getKey().startsWith(prefix)) {
+				break;
+			}
+			collect(entry, result, unloaded);
+		}
+		refresh(unloaded, result);
+		return result;
+	}
+
+	/**
+	 * Returns the loaded classes whose name starts with the given prefix, and
+	 * reports the classes with that prefix this index learns about later to
+	 * the given listener, until it is removed, if they were prepared before
+	 * the given class prepare request of the listener was created.
+	 *
+	 * @param prefix
+	 *            the prefix of the class names
+	 * @param listener
+	 *            the listener to report classes learned about later to
+	 * @param request
+	 *            the class prepare request of the listener for the classes
+	 *            with the prefix, created before this query
+	 * @return the loaded classes whose name starts with the prefix
+	 * @see #removeListener(IJDIEventListener, EventRequest)
+	 */
+	public synchronized List<ReferenceType> getClassesWithPrefix(String prefix, IJDIEventListener listener, ClassPrepareRequest request) {
+		List<ReferenceType> result = getClassesWithPrefix(prefix);
+		addQuery(new Query(prefix, null, listener, request));
+		return result;
+	}
+
+	/**
+	 * Returns the loaded classes whose name matches the given pattern. The
+	 * pattern is a prefix of the class names, optionally ending with
+	 * <code>'*'</code>, or a suffix of the class names beginning with
+	 * <code>'*'</code>.
+	 *
+	 * @param pattern
+	 *            the pattern of the class names
+	 * @return the loaded classes whose name matches the pattern
+	 */
+	public synchronized List<ReferenceType> getClassesMatching(String pattern) {
+		if (!pattern.startsWith("*")) { //$NON-NLS-1$
+			return getClassesWithPrefix(pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern); //$NON-NLS-1$
+		}
+		List<ReferenceType> result = new ArrayList<>();
+		if (!ensureBuilt()) {
+			return result;
+		}
+		String suffix = pattern.substring(1);
+		List<String> unloaded = new ArrayList<>();
+		for (Map.Entry<String, List<ReferenceType>> entry : fClasses.entrySet()) {
+			if (entry.getKey().endsWith(suffix)) {
+				collect(entry, result, unloaded);
+			}
+		}
+		refresh(unloaded, result);
+		return result;
+	}
+
+	/**
+	 * Returns the loaded classes whose name matches the given pattern, as
+	 * described in {@link #getClassesMatching(String)}, and that have a source
+	 * with the given name in the given stratum. The classes matching the
+	 * pattern this index learns about later are reported to the given
+	 * listener, as described in
+	 * {@link #getClassesWithPrefix(String, IJDIEventListener, ClassPrepareRequest)},
+	 * which checks their source names.
+	 *
+	 * @param pattern
+	 *            the pattern of the class names
+	 * @param stratum
+	 *            the stratum of the source name or <code>null</code> for the
+	 *            default stratum
+	 * @param sourceName
+	 *            the source name or <code>null</code> for any source
+	 * @param listener
+	 *            the listener to report classes learned about later to
+	 * @param request
+	 *            the class prepare request of the listener for the classes
+	 *            matching the pattern, created before this query
+	 * @return the matching loaded classes
+	 */
+	public List<ReferenceType> getClassesMatching(String pattern, String stratum, String sourceName, IJDIEventListener listener, ClassPrepareRequest request) {
+		List<ReferenceType> classes;
+		synchronized (this) {
+			classes = getClassesMatching(pattern);
+			if (pattern.startsWith("*")) { //$NON-NLS-1$
+				addQuery(new Query(null, pattern.substring(1), listener, request));
+			} else {
+				addQuery(new Query(pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern, null, listener, request)); //$NON-NLS-1$
+			}
+		}
+		return filter(classes, stratum, sourceName);
+	}
+
+	/**
+	 * Removes the classes that do not have a source with the given name in
+	 * the given stratum from the given classes.
+	 */
+	private static List<ReferenceType> filter(List<ReferenceType> classes, String stratum, String sourceName) {
+		if (sourceName == null) {
+			return classes;
+		}
+		Iterator<ReferenceType> iter = classes.iterator();
+		while (iter.hasNext()) {
+			try {
+				if (!iter.next().sourceNames(stratum).contains(sourceName)) {
+					iter.remove();
+				}
+			} catch (AbsentInformationException e) {
+				iter.remove();
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Stops reporting classes to the given listener for the queries made with
+	 * the given class prepare request.
+	 *
+	 * @param listener
+	 *            the listener of the queries
+	 * @param request
+	 *            the class prepare request of the queries
+	 */
+	public synchronized void removeListener(IJDIEventListener listener, EventRequest request) {
+		fQueries.removeIf(query -> query.fListener == listener && query.fRequest == request);
+	}
+
+	private void addQuery(Query query) {
+		if (fClasses != null && !fQueries.contains(query)) {
+			fQueries.add(query);
+		}
+	}
+
+	/**
+	 * Adds the classes of the given entry to the result, or its name to the
+	 * given names if classes of that name have been unloaded.
+	 */
+	private void collect(Map.Entry<String, List<ReferenceType>> entry, List<ReferenceType> result, List<String> unloaded) {
+		if (fUnloadedNames.contains(entry.getKey())) {
+			unloaded.add(entry.getKey());
+		} else {
+			result.addAll(entry.getValue());
+		}
+	}
+
+	/**
+	 * Retrieves again the classes of the given unloaded names, adding them to
+	 * the result.
+	 */
+	private void refresh(List<String> unloaded, List<ReferenceType> result) {
+		VirtualMachine vm = fTarget.getVM();
+		if (vm == null) {
+			return;
+		}
+		for (String name : unloaded) {
+			List<ReferenceType> classes = vm.classesByName(name);
+			fUnloadedNames.remove(name);
+			if (classes.isEmpty()) {
+				fClasses.remove(name);
+			} else {
+				fClasses.put(name, new ArrayList<>(classes));
+				result.addAll(classes);
+			}
+		}
+	}
+
+	/**
+	 * Builds this index from the classes loaded in the VM if not yet built.
+	 *
+	 * @return whether this index is built
+	 */
+	private boolean ensureBuilt() {
+		if (fClasses != null) {
+			return true;
+		}
+		VirtualMachine vm = fTarget.getVM();
+		EventRequestManager manager = fTarget.getEventRequestManager();
+		if (vm == null || manager == null) {
+			return false;
+		}
+		if (!fRequestsCreated) {
+			// created first so that no class is missed while all classes are retrieved
+			EventRequest prepareRequest = manager.createClassPrepareRequest();
+			prepareRequest.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+			prepareRequest.enable();
+			fTarget.addJDIEventListener(this, prepareRequest);
+			EventRequest unloadRequest = manager.createClassUnloadRequest();
+			unloadRequest.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+			unloadRequest.enable();
+			fTarget.addJDIEventListener(this, unloadRequest);
+			fRequestsCreated = true;
+		}
+		TreeMap<String, List<ReferenceType>> classes = new TreeMap<>();
+		for (ReferenceType type : vm.allClasses()) {
+			add(classes, type);
+		}
+		fClasses = classes;
+		return true;
+	}
+
+	private static void add(TreeMap<String, List<ReferenceType>> classes, ReferenceType type) {
+		List<ReferenceType> types = classes.computeIfAbsent(type.name(), name -> new ArrayList<>(1));
+		if (!types.contains(type)) {
+			types.add(type);
+		}
+	}
+
+	/**
+	 * Updates this index for a class prepare or class unload event, and
+	 * reports a prepared class to the listeners of queries that may have
+	 * missed it.
+	 *
+	 * @return <code>true</code> - the thread should be resumed
+	 */
+	@Override
+	public boolean handleEvent(Event event, JDIDebugTarget target, boolean suspendVote, EventSet eventSet) {
+		List<IJDIEventListener> listeners = null;
+		synchronized (this) {
+			if (fClasses == null) {
+				// loaded classes are retrieved when the index is built
+				return true;
+			}
+			if (event instanceof ClassPrepareEvent) {
+				ReferenceType type = ((ClassPrepareEvent) event).referenceType();
+				add(fClasses, type);
+				for (Query query : fQueries) {
+					if (query.matches(type.name()) && !containsEvent(eventSet, query.fRequest)) {
+						if (listeners == null) {
+							listeners = new ArrayList<>(1);
+						}
+						listeners.add(query.fListener);
+					}
+				}
+			} else if (event instanceof ClassUnloadEvent) {
+				String name = ((ClassUnloadEvent) event).className();
+				if (fClasses.containsKey(name)) {
+					fUnloadedNames.add(name);
+				}
+			}
+		}
+		if (listeners != null) {
+			// the class was prepared before the listener's request was
+			// created, so it is only reported through this index
+			for (IJDIEventListener listener : listeners) {
+				try {
+					listener.handleEvent(event, target, suspendVote, eventSet);
+				} catch (RuntimeException e) {
+					JDIDebugPlugin.logError("Exception occurred while notifying listener: " + listener + ", with event: " + event, e); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the given event set contains an event of the given
+	 * request.
+	 */
+	private static boolean containsEvent(EventSet eventSet, EventRequest request) {
+		for (Event event : eventSet) {
+			if (event.request() == request) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void eventSetComplete(Event event, JDIDebugTarget target, boolean suspend, EventSet eventSet) {
+		// do nothing, the thread was not suspended for this index
+	}
+
+	/**
+	 * A query whose listener is reported classes this index learns about
+	 * later
+	 */
+	private static class Query {
+
+		private final String fPrefix;
+		private final String fSuffix;
+		private final IJDIEventListener fListener;
+		private final EventRequest fRequest;
+
+		Query(String prefix, String suffix, IJDIEventListener listener, EventRequest request) {
+			fPrefix = prefix;
+			fSuffix = suffix;
+			fListener = listener;
+			fRequest = request;
+		}
+
+		boolean matches(String name) {
+			return fPrefix != null ? name.startsWith(fPrefix) : name.endsWith(fSuffix);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Query)) {
+				return false;
+			}
+			Query other = (Query) obj;
+			return fListener == other.fListener && fRequest == other.fRequest
+					&& Objects.equals(fPrefix, other.fPrefix) && Objects.equals(fSuffix, other.fSuffix);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fPrefix, fSuffix, fRequest);
+		}
+	}
+}